@@ -0,0 +1,235 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Non-interactive mode of {@link SchedulingAlgorithms}, used whenever it is started with
+ * arguments:
+ *
+ * <pre>
+ * java SchedulingAlgorithms [--input inputfile.txt] [--algorithms FCFS,SJF,SRTF,NPPS,PPS,RR,MLFQ]
+ *     [--quantum 4] [--mlfq LEVELS,BOOST] [--predict ALPHA,GUESS] [--format table|csv|json] [--output FILE]
+ *     [--cache DIR] [--seed 42] [--trace DIR]
+ * </pre>
+ *
+ * PSJF and PSRTF are SJF and SRTF on predicted bursts ({@link PredictiveShortestJob}); in
+ * table format each is followed by its waiting-time gap to the true-burst schedule.
+ * LOTTERY and STRIDE are the proportional-share schedulers, using the quantum (and the
+ * seed); in table format each is followed by its per-tenant share errors.
+ * With {@code --cache} results are stored in DIR by workload content and algorithm
+ * ({@link ResultCache}), so repeating a run on the same trace skips the simulation.
+ * With {@code --trace} every run is simulated afresh and its events are written to
+ * DIR/&lt;algorithm&gt;.sevt ({@link EventLog}) for {@link TraceReplay}.
+ * The input may be text or binary ({@link WorkloadFile}). Everything is written through
+ * one large buffered writer that is flushed once at the end.
+ */
+final class BatchRunner {
+
+    private static final int OUTPUT_BUFFER = 1 << 20;
+    private static final String ALL_ALGORITHMS = "FCFS,SJF,SRTF,NPPS,PPS,RR";
+
+    private BatchRunner() {
+    }
+
+    static void run(String[] args) {
+        String input = "inputfile.txt";
+        String algorithms = ALL_ALGORITHMS;
+        String format = "table";
+        String output = null;
+        String cacheDirectory = null;
+        String traceDirectory = null;
+        int quantum = 4;
+        int mlfqLevels = 3;
+        int mlfqBoost = 0;
+        double alpha = 0.5;
+        int initialGuess = 10;
+        long seed = 42;
+
+        for (int a = 0; a < args.length; a++) {
+            String flag = args[a];
+            if (flag.equals("--help")) {
+                System.out.println("usage: java SchedulingAlgorithms [--input FILE] [--algorithms "
+                        + ALL_ALGORITHMS + ",MLFQ,PSJF,PSRTF,LOTTERY,STRIDE] [--quantum N] [--mlfq LEVELS,BOOST]"
+                        + " [--predict ALPHA,GUESS]"
+                        + " [--format table|csv|json] [--output FILE] [--cache DIR] [--seed N] [--trace DIR]");
+                return;
+            }
+            if (a + 1 >= args.length) {
+                System.err.println("Missing value for " + flag);
+                return;
+            }
+            String value = args[++a];
+            try {
+                switch (flag) {
+                    case "--input":
+                        input = value;
+                        break;
+                    case "--algorithms":
+                        algorithms = value;
+                        break;
+                    case "--quantum":
+                        quantum = Integer.parseInt(value.trim());
+                        break;
+                    case "--mlfq":
+                        String[] parts = value.split(",");
+                        mlfqLevels = Integer.parseInt(parts[0].trim());
+                        mlfqBoost = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 0;
+                        break;
+                    case "--predict":
+                        String[] prediction = value.split(",");
+                        alpha = Double.parseDouble(prediction[0].trim());
+                        if (prediction.length > 1) initialGuess = Integer.parseInt(prediction[1].trim());
+                        break;
+                    case "--format":
+                        format = value.trim().toLowerCase(Locale.ROOT);
+                        break;
+                    case "--output":
+                        output = value;
+                        break;
+                    case "--cache":
+                        cacheDirectory = value;
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(value.trim());
+                        break;
+                    case "--trace":
+                        traceDirectory = value;
+                        break;
+                    default:
+                        System.err.println("Unknown option " + flag);
+                        return;
+                }
+            } catch (NumberFormatException e) {
+                System.err.println("Invalid value for " + flag + ": " + value);
+                return;
+            }
+        }
+
+        if (!format.equals("table") && !format.equals("csv") && !format.equals("json")) {
+            System.err.println("Unknown format " + format + "; expected table, csv or json");
+            return;
+        }
+
+        List<Scheduler> schedulers = new ArrayList<>();
+        try {
+            for (String name : algorithms.split(",")) {
+                String key = name.trim().toUpperCase(Locale.ROOT);
+                if (key.equals("MLFQ")) {
+                    schedulers.add(MultilevelFeedbackQueue.doubling(mlfqLevels, quantum, mlfqBoost));
+                } else if (key.equals("PSJF") || key.equals("PSRTF")) {
+                    schedulers.add(new PredictiveShortestJob(key.equals("PSRTF"), alpha, initialGuess));
+                } else if (key.equals("LOTTERY")) {
+                    schedulers.add(new LotteryScheduler(quantum, seed));
+                } else if (key.equals("STRIDE")) {
+                    schedulers.add(new StrideScheduler(quantum));
+                } else {
+                    schedulers.add(SchedulingPolicy.parse(name).scheduler(quantum));
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid algorithm list or parameters: " + e.getMessage());
+            return;
+        }
+
+        Path path = Paths.get(input);
+        Workload workload;
+        long parseStart = System.nanoTime();
+        try {
+            if (WorkloadFile.isWorkload(path)) {
+                workload = WorkloadFile.map(path).asWorkload();
+            } else {
+                WorkloadReader reader = new WorkloadReader();
+                workload = reader.read(path);
+                if (reader.droppedIncompleteRecord()) {
+                    System.err.println("Warning: process data count is not multiple of " + reader.recordWidth()
+                            + ". Using complete records only.");
+                }
+            }
+        } catch (NoSuchFileException e) {
+            System.err.println(input + " not found.");
+            return;
+        } catch (IOException e) {
+            System.err.println("Error reading " + input + ": " + e.getMessage());
+            return;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid process data in " + input + ": " + e.getMessage());
+            return;
+        }
+        long parseNanos = System.nanoTime() - parseStart;
+        if (workload.size() == 0) {
+            System.err.println("No process triples found in " + input + ".");
+            return;
+        }
+
+        try (OutputStream stream = output == null ? null : Files.newOutputStream(Paths.get(output))) {
+            PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(
+                    stream == null ? System.out : stream, StandardCharsets.UTF_8), OUTPUT_BUFFER), false);
+            ResultRenderer renderer;
+            switch (format) {
+                case "csv":
+                    renderer = new CsvRenderer(out);
+                    break;
+                case "json":
+                    renderer = new JsonRenderer(out);
+                    break;
+                default:
+                    renderer = new ConsoleRenderer(out);
+            }
+
+            ResultCache cache = new ResultCache(ResultCache.DEFAULT_MAX_BYTES,
+                    cacheDirectory == null ? null : Paths.get(cacheDirectory));
+            renderer.begin(workload);
+            for (Scheduler s : schedulers) {
+                ScheduleResult result;
+                try {
+                    result = traceDirectory == null ? cache.schedule(s, workload)
+                            : trace(s, workload, Paths.get(traceDirectory));
+                } catch (ArithmeticException e) {
+                    System.err.println("Skipping " + s.name() + ": " + e.getMessage());
+                    continue;
+                }
+                ScheduleMetrics metrics = ScheduleMetrics.of(result);
+                metrics.setPhaseNanos(ScheduleMetrics.Phase.PARSE, parseNanos);
+                renderer.render(result, metrics);
+                if (format.equals("table")) {
+                    if (s instanceof PredictiveShortestJob) {
+                        PredictiveShortestJob.printGap(result, cache.schedule(((PredictiveShortestJob) s).oracle(), workload), out);
+                    }
+                    if (s instanceof LotteryScheduler || s instanceof StrideScheduler) {
+                        TenantShares.of(result).print(out);
+                    }
+                    out.println();
+                }
+            }
+            renderer.end();
+            out.flush();
+            if (out.checkError()) System.err.println("Error writing output");
+        } catch (IOException e) {
+            System.err.println("Error writing " + output + ": " + e.getMessage());
+        }
+    }
+
+    // simulates afresh with the events written to DIR/<name>.sevt; a failed trace is reported and the run still counts
+    private static ScheduleResult trace(Scheduler s, Workload w, Path directory) {
+        StringBuilder name = new StringBuilder(32);
+        for (char ch : s.name().toCharArray()) name.append(Character.isLetterOrDigit(ch) || ch == '.' || ch == '=' ? ch : '_');
+        Path file = directory.resolve(name.append(".sevt").toString());
+        try {
+            Files.createDirectories(directory);
+            return EventLog.trace(s, w, file);
+        } catch (IOException e) {
+            System.err.println("Error writing trace " + file + ": " + e.getMessage());
+            return s.schedule(w);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+import java.util.Arrays;
+
+/**
+ * Burst-time predictor for {@link PredictiveShortestJob}: one exponential moving average
+ * of observed bursts per process class, where a class is a priority value.
+ *
+ * <pre>
+ * tau(next) = alpha * burst(observed) + (1 - alpha) * tau
+ * </pre>
+ *
+ * Priorities are ranked into dense class numbers once, so the state is a single
+ * {@code double[]} indexed through an {@code int[]} column and a prediction is two
+ * array reads. A class predicts {@code initialGuess} until its first burst has been
+ * observed; that burst then becomes its estimate.
+ */
+final class BurstPredictor {
+
+    private final int[] classOf;
+    private final double[] estimate;
+    private final double alpha;
+    private final int initialGuess;
+
+    BurstPredictor(Workload w, double alpha, int initialGuess) {
+        this.alpha = alpha;
+        this.initialGuess = initialGuess;
+        classOf = ProcessSort.denseRanks(w.priorityColumn());
+        int classes = 0;
+        for (int c : classOf) classes = Math.max(classes, c + 1);
+        estimate = new double[classes];
+        Arrays.fill(estimate, Double.NaN);
+    }
+
+    int classes() {
+        return estimate.length;
+    }
+
+    /** Predicted burst of process {@code i} from the bursts observed in its class so far. */
+    int predict(int i) {
+        double e = estimate[classOf[i]];
+        return Double.isNaN(e) ? initialGuess : (int) Math.round(e);
+    }
+
+    /** Folds the actual burst of a finished process into its class average. */
+    void observe(int i, int burst) {
+        int c = classOf[i];
+        double e = estimate[c];
+        estimate[c] = Double.isNaN(e) ? burst : e + alpha * (burst - e);
+    }
+}
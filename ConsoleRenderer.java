@@ -0,0 +1,77 @@
+import java.io.PrintWriter;
+
+/**
+ * Prints a {@link ScheduleResult} in the console layout of the interactive menu:
+ * execution order, Gantt chart, averages and the per-process table. The Gantt chart has
+ * one bar per run-length segment and is streamed to the writer, never built as one string.
+ */
+final class ConsoleRenderer implements ResultRenderer {
+
+    private final PrintWriter out;
+
+    ConsoleRenderer(PrintWriter out) {
+        this.out = out;
+    }
+
+    @Override
+    public void render(ScheduleResult r, ScheduleMetrics metrics) {
+        long start = System.nanoTime();
+        Workload w = r.workload();
+        int segments = r.segmentCount();
+
+        out.append(" ").append(r.algorithm()).append(" PROCESS EXECUTION CHART: (START) ");
+        int last = -1;
+        for (int k = 0; k < segments; k++) {
+            int p = r.segmentProcess(k);
+            if (p >= 0 && p != last) {
+                out.append('p').print(w.pid(p));
+                out.append(" --> ");
+            }
+            last = p;
+        }
+        out.println(" (END)");
+
+        out.append("\n GANT CHART: 0 ");
+        for (int k = 0; k < segments; k++) {
+            int p = r.segmentProcess(k);
+            if (p == ScheduleRecorder.IDLE) {
+                out.append("|W| ");
+            } else if (p == ScheduleRecorder.SWITCH) {
+                out.append("|CS| ");
+            } else {
+                out.append("|p").print(w.pid(p));
+                out.append("| ");
+            }
+            out.print(r.segmentEnd(k));
+            out.append(' ');
+        }
+
+        out.printf("%n Average Waiting Time is: %f  %n", r.averageWaitingTime());
+        out.printf(" Average Turnaround %f %n", r.averageTurnaroundTime());
+        out.printf(" Context switches: %d   CPU utilization: %.2f%% %n", r.contextSwitches(), 100.0 * r.cpuUtilization());
+        displayProcessTable(r);
+
+        if (metrics != null) {
+            metrics.setPhaseNanos(ScheduleMetrics.Phase.RENDER, System.nanoTime() - start);
+            metrics.print(out);
+        }
+    }
+
+    private void displayProcessTable(ScheduleResult r) {
+        Workload w = r.workload();
+        out.println("\n\ntable of process\n");
+        out.println("|PID |   | AT |  | BT |   | PR |    | FT |   | TAT |   | WT |   | RT |  ");
+        int c = w.size();
+        for (int i = 0; i < c; i++) {
+            out.append("  ").print(w.pid(i));
+            out.append("        ").print(w.arrival(i));
+            out.append("       ").print(w.burst(i));
+            out.append("       ").print(w.priority(i));
+            out.append("        ").print(r.finish(i));
+            out.append("        ").print(r.turnaround(i));
+            out.append("       ").print(r.waiting(i));
+            out.append("       ").print(r.response(i));
+            out.println("   ");
+        }
+    }
+}
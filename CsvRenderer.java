@@ -0,0 +1,61 @@
+import java.io.PrintWriter;
+
+/**
+ * One CSV row per result with the averages and the metrics percentiles, for loading
+ * into spreadsheets or scripts. Per-process detail is left to the JSON format.
+ */
+final class CsvRenderer implements ResultRenderer {
+
+    private final PrintWriter out;
+
+    CsvRenderer(PrintWriter out) {
+        this.out = out;
+    }
+
+    @Override
+    public void begin(Workload w) {
+        out.println("algorithm,processes,avg_waiting,avg_turnaround,makespan,context_switches,cpu_utilization,"
+                + "decisions,preemptions,idle_time,waiting_p50,waiting_p95,waiting_p99,waiting_max,"
+                + "response_p50,response_p95,response_p99,response_max,"
+                + "turnaround_p50,turnaround_p95,turnaround_p99,turnaround_max,"
+                + "slowdown_p50,slowdown_p95,slowdown_p99,slowdown_max,slowdown_mean,fairness,simulate_ms");
+    }
+
+    @Override
+    public void render(ScheduleResult r, ScheduleMetrics m) {
+        if (m == null) m = ScheduleMetrics.of(r);
+        out.append(quote(r.algorithm())).append(',').print(r.workload().size());
+        out.append(',').print(r.averageWaitingTime());
+        out.append(',').print(r.averageTurnaroundTime());
+        out.append(',').print(r.makespan());
+        out.append(',').print(r.contextSwitches());
+        out.append(',').print(r.cpuUtilization());
+        out.append(',').print(m.decisions());
+        out.append(',').print(m.preemptions());
+        out.append(',').print(m.idleTime());
+        out.append(',').print(m.waitingPercentile(50));
+        out.append(',').print(m.waitingPercentile(95));
+        out.append(',').print(m.waitingPercentile(99));
+        out.append(',').print(m.maxWaiting());
+        out.append(',').print(m.responsePercentile(50));
+        out.append(',').print(m.responsePercentile(95));
+        out.append(',').print(m.responsePercentile(99));
+        out.append(',').print(m.maxResponse());
+        out.append(',').print(m.turnaroundPercentile(50));
+        out.append(',').print(m.turnaroundPercentile(95));
+        out.append(',').print(m.turnaroundPercentile(99));
+        out.append(',').print(m.maxTurnaround());
+        out.append(',').print(m.slowdownPercentile(50));
+        out.append(',').print(m.slowdownPercentile(95));
+        out.append(',').print(m.slowdownPercentile(99));
+        out.append(',').print(m.maxSlowdown());
+        out.append(',').print(m.averageSlowdown());
+        out.append(',').print(m.fairnessIndex());
+        out.append(',').println(m.phaseNanos(ScheduleMetrics.Phase.SIMULATE) / 1e6);
+    }
+
+    // algorithm names contain commas, e.g. MLFQ(q=2/4,boost=50)
+    private static String quote(String s) {
+        return s.indexOf(',') < 0 && s.indexOf('"') < 0 ? s : '"' + s.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,172 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Binary event trace of one scheduler run: every arrival, dispatch, preemption,
+ * completion, idle period and context switch, in time order. {@link TraceReplay} reads
+ * it back.
+ *
+ * <pre>
+ *   0  magic "SEVT"
+ *   4  version
+ *   8  process count n
+ *  12  algorithm name length in bytes
+ *  16  algorithm name, UTF-8, padded to 16 bytes
+ *  ..  16-byte records: type, time, process index (-1 for none), argument
+ * </pre>
+ * The argument is the burst time for an arrival and the end time for an idle period or
+ * a context switch (whose process is the last one that ran); it is 0 otherwise.
+ *
+ * Records are written by {@link ScheduleRecorder} into a ring of preallocated direct
+ * buffers. A full buffer is handed to a writer thread and recording continues in the
+ * next free one, so the scheduler only blocks if it outruns the disk by the whole ring.
+ * Nothing is ever dropped.
+ */
+public final class EventLog implements AutoCloseable {
+
+    static final int MAGIC = 0x54564553;   // "SEVT"
+    static final int VERSION = 1;
+    static final int RECORD_SIZE = 16;
+
+    static final int ARRIVAL = 0;
+    static final int DISPATCH = 1;
+    static final int PREEMPT = 2;
+    static final int COMPLETE = 3;
+    static final int IDLE = 4;
+    static final int SWITCH = 5;
+
+    private static final int CHUNKS = 4;
+    private static final int CHUNK_SIZE = 1 << 20;
+
+    // the log the next recorder created on this thread writes to
+    private static final ThreadLocal<EventLog> PENDING = new ThreadLocal<>();
+
+    private final FileChannel channel;
+    private final BlockingQueue<ByteBuffer> free = new ArrayBlockingQueue<>(CHUNKS);
+    private final BlockingQueue<ByteBuffer> full = new ArrayBlockingQueue<>(CHUNKS + 1);
+    private final ByteBuffer endOfLog = ByteBuffer.allocate(0);
+    private final Thread writer;
+    private volatile IOException failure;
+    private ByteBuffer current;
+    private long records;
+
+    private EventLog(Path path, String algorithm, int processes) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        for (int k = 0; k < CHUNKS; k++) {
+            free.add(ByteBuffer.allocateDirect(CHUNK_SIZE).order(ByteOrder.LITTLE_ENDIAN));
+        }
+        current = take(free);
+        byte[] name = algorithm.getBytes(StandardCharsets.UTF_8);
+        current.putInt(MAGIC).putInt(VERSION).putInt(processes).putInt(name.length);
+        // the name goes through a heap buffer so a long one cannot overflow the chunk
+        ByteBuffer head = ByteBuffer.allocate(align(name.length));
+        head.put(name).rewind();
+        current.flip();
+        while (current.hasRemaining()) channel.write(current);
+        while (head.hasRemaining()) channel.write(head);
+        current.clear();
+
+        writer = new Thread(this::drain, "event-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Runs {@code s} on {@code w} and writes its events to {@code path}. The run is not
+     * taken from or added to any {@link ResultCache}, since a cached result has no events.
+     */
+    public static ScheduleResult trace(Scheduler s, Workload w, Path path) throws IOException {
+        try (EventLog log = new EventLog(path, s.name(), w.size())) {
+            PENDING.set(log);
+            try {
+                return s.schedule(w);
+            } finally {
+                PENDING.remove();
+            }
+        }
+    }
+
+    /** The log waiting for a recorder on this thread, if any; only the first recorder gets it. */
+    static EventLog claim() {
+        EventLog log = PENDING.get();
+        if (log != null) PENDING.remove();
+        return log;
+    }
+
+    /** Records written so far. */
+    long records() {
+        return records;
+    }
+
+    void append(int type, int time, int process, int arg) {
+        if (current.remaining() < RECORD_SIZE) {
+            full.add(current);
+            current = take(free);
+        }
+        current.putInt(type).putInt(time).putInt(process).putInt(arg);
+        records++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (current.position() > 0) full.add(current);
+            full.add(endOfLog);
+            boolean interrupted = false;
+            while (writer.isAlive()) {
+                try {
+                    writer.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) Thread.currentThread().interrupt();
+        } finally {
+            channel.close();
+        }
+        if (failure != null) throw failure;
+    }
+
+    // writer thread: writes full chunks in order and recycles them
+    private void drain() {
+        while (true) {
+            ByteBuffer chunk = take(full);
+            if (chunk == endOfLog) return;
+            chunk.flip();
+            try {
+                while (chunk.hasRemaining() && failure == null) channel.write(chunk);
+            } catch (IOException e) {
+                failure = e;       // keep recycling so the scheduler never blocks; reported on close
+            }
+            chunk.clear();
+            free.add(chunk);
+        }
+    }
+
+    private static ByteBuffer take(BlockingQueue<ByteBuffer> queue) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return queue.take();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    static int align(int length) {
+        return (length + RECORD_SIZE - 1) & -RECORD_SIZE;
+    }
+}
@@ -0,0 +1,54 @@
+import java.nio.IntBuffer;
+
+/**
+ * FCFS: processes run to completion in arrival order (ties by burst, then pid). Going
+ * from one process straight to the next is free unless switch charging is turned on.
+ */
+public final class FirstComeFirstServed implements Scheduler {
+
+    private final boolean chargeSwitches;
+
+    public FirstComeFirstServed() {
+        this(false);
+    }
+
+    /** @param chargeSwitches charge the workload's context switch time between two processes */
+    public FirstComeFirstServed(boolean chargeSwitches) {
+        this.chargeSwitches = chargeSwitches;
+    }
+
+    @Override
+    public String name() {
+        return "FCFS";
+    }
+
+    @Override
+    public ScheduleResult schedule(Workload w) {
+        ScheduleRecorder rec = new ScheduleRecorder(w);
+        IntBuffer at = w.arrivalColumn();
+        IntBuffer bt = w.burstColumn();
+        int[] order = ProcessSort.byKeys(at, bt);
+        rec.sorted();
+
+        int cs = w.contextSwitch();
+
+        int current = 0;
+        boolean held = false;       // a process context is loaded on the CPU
+        for (int i : order) {
+            int arrival = at.get(i);
+            if (arrival > current) {
+                rec.idle(current, arrival);
+                current = arrival;
+            } else if (chargeSwitches && held) {
+                rec.contextSwitch(current, current + cs);
+                current += cs;
+            }
+            held = true;
+            int burst = bt.get(i);
+            rec.run(i, current, current + burst);
+            current += burst;
+            rec.finish(i, current);
+        }
+        return rec.build(name());
+    }
+}
@@ -0,0 +1,77 @@
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of process indices ordered by an int key.
+ * Each entry is packed into a single long as (key << 32 | index), so ties on the
+ * key are broken by the smaller index and a comparison is one primitive compare.
+ * Callers that pass indices in arrival order therefore get FCFS tie-breaking for free.
+ */
+final class IndexHeap {
+
+    private long[] heap;
+    private int size;
+
+    IndexHeap(int capacity) {
+        heap = new long[Math.max(1, capacity)];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void push(int key, int index) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size << 1);
+        }
+        long e = ((long) key << 32) | (index & 0xFFFFFFFFL);
+        // sift up
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            long p = heap[parent];
+            if (p <= e) break;
+            heap[i] = p;
+            i = parent;
+        }
+        heap[i] = e;
+    }
+
+    int peekIndex() {
+        return (int) heap[0];
+    }
+
+    int peekKey() {
+        return (int) (heap[0] >> 32);
+    }
+
+    /** Removes the smallest entry and returns its index. */
+    int pop() {
+        long top = heap[0];
+        long last = heap[--size];
+        // sift down
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            long c = heap[child];
+            int right = child + 1;
+            if (right < size && heap[right] < c) {
+                child = right;
+                c = heap[child];
+            }
+            if (last <= c) break;
+            heap[i] = c;
+            i = child;
+        }
+        if (size > 0) heap[i] = last;
+        return (int) top;
+    }
+}
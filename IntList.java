@@ -0,0 +1,48 @@
+import java.util.Arrays;
+
+/** Growable column of ints with amortised O(1) append and no per-element objects. */
+final class IntList {
+
+    private int[] data;
+    private int size;
+
+    IntList() {
+        this(16);
+    }
+
+    IntList(int capacity) {
+        data = new int[Math.max(1, capacity)];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void add(int v) {
+        if (size == data.length) {
+            // grow by 1.5x, the same policy as ArrayList
+            data = Arrays.copyOf(data, size + (size >> 1) + 1);
+        }
+        data[size++] = v;
+    }
+
+    int get(int i) {
+        return data[i];
+    }
+
+    int removeLast() {
+        return data[--size];
+    }
+
+    void truncate(int newSize) {
+        if (newSize < size) size = newSize;
+    }
+
+    /**
+     * Returns the contents as an exactly-sized array. A full backing array is handed
+     * over without copying, so the list must not be modified afterwards.
+     */
+    int[] toArray() {
+        return size == data.length ? data : Arrays.copyOf(data, size);
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * FIFO queue of ints backed by a power-of-two ring buffer, so the Round Robin
+ * ready queue holds process indices without boxing them.
+ */
+final class IntQueue {
+
+    private int[] buf;
+    private int head;
+    private int size;
+
+    IntQueue(int capacity) {
+        buf = new int[Integer.highestOneBit(Math.max(2, capacity) - 1) << 1];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    void add(int v) {
+        if (size == buf.length) grow();
+        buf[(head + size++) & (buf.length - 1)] = v;
+    }
+
+    int peek() {
+        return buf[head];
+    }
+
+    int poll() {
+        int v = buf[head];
+        head = (head + 1) & (buf.length - 1);
+        size--;
+        return v;
+    }
+
+    private void grow() {
+        int[] next = new int[buf.length << 1];
+        int firstPart = Math.min(size, buf.length - head);
+        System.arraycopy(buf, head, next, 0, firstPart);
+        System.arraycopy(buf, 0, next, firstPart, size - firstPart);
+        buf = next;
+        head = 0;
+    }
+}
@@ -0,0 +1,138 @@
+import java.io.PrintWriter;
+import java.util.Locale;
+
+/**
+ * Full results as one JSON document: {"processes": n, "contextSwitch": cs, "results": [...]},
+ * each result with its summary, metrics, per-process columns and the run-length Gantt
+ * segments as [pid, start, end] triples ("idle" or "switch" in place of a pid).
+ * Columns are written as arrays rather than one object per process to keep large
+ * outputs compact.
+ */
+final class JsonRenderer implements ResultRenderer {
+
+    private final PrintWriter out;
+    private boolean first;
+
+    JsonRenderer(PrintWriter out) {
+        this.out = out;
+    }
+
+    @Override
+    public void begin(Workload w) {
+        out.append("{\"processes\":").print(w.size());
+        out.append(",\"contextSwitch\":").print(w.contextSwitch());
+        out.append(",\"results\":[");
+        first = true;
+    }
+
+    @Override
+    public void render(ScheduleResult r, ScheduleMetrics m) {
+        long start = System.nanoTime();
+        Workload w = r.workload();
+        int n = w.size();
+        if (!first) out.append(',');
+        first = false;
+
+        out.append("\n{\"algorithm\":").append(string(r.algorithm()));
+        out.append(",\"averageWaiting\":").print(r.averageWaitingTime());
+        out.append(",\"averageTurnaround\":").print(r.averageTurnaroundTime());
+        out.append(",\"makespan\":").print(r.makespan());
+        out.append(",\"contextSwitches\":").print(r.contextSwitches());
+        out.append(",\"cpuUtilization\":").print(r.cpuUtilization());
+
+        out.append(",\n\"pid\":[");
+        for (int i = 0; i < n; i++) {
+            if (i > 0) out.append(',');
+            out.print(w.pid(i));
+        }
+        out.append("],\n\"finish\":[");
+        for (int i = 0; i < n; i++) {
+            if (i > 0) out.append(',');
+            out.print(r.finish(i));
+        }
+        out.append("],\n\"waiting\":[");
+        for (int i = 0; i < n; i++) {
+            if (i > 0) out.append(',');
+            out.print(r.waiting(i));
+        }
+        out.append("],\n\"turnaround\":[");
+        for (int i = 0; i < n; i++) {
+            if (i > 0) out.append(',');
+            out.print(r.turnaround(i));
+        }
+        out.append("],\n\"response\":[");
+        for (int i = 0; i < n; i++) {
+            if (i > 0) out.append(',');
+            out.print(r.response(i));
+        }
+
+        out.append("],\n\"gantt\":[");
+        for (int k = 0; k < r.segmentCount(); k++) {
+            if (k > 0) out.append(',');
+            int p = r.segmentProcess(k);
+            out.append('[');
+            if (p == ScheduleRecorder.IDLE) out.append("\"idle\"");
+            else if (p == ScheduleRecorder.SWITCH) out.append("\"switch\"");
+            else out.print(w.pid(p));
+            out.append(',').print(r.segmentStart(k));
+            out.append(',').print(r.segmentEnd(k));
+            out.append(']');
+        }
+        out.append(']');
+
+        if (m != null) {
+            m.setPhaseNanos(ScheduleMetrics.Phase.RENDER, System.nanoTime() - start);
+            out.append(",\n\"metrics\":{\"decisions\":").print(m.decisions());
+            out.append(",\"preemptions\":").print(m.preemptions());
+            out.append(",\"idleTime\":").print(m.idleTime());
+            out.append(",\"switchTime\":").print(m.switchTime());
+            out.append(",\"waiting\":");
+            percentiles(m.waitingPercentile(50), m.waitingPercentile(95), m.waitingPercentile(99), m.maxWaiting());
+            out.append(",\"response\":");
+            percentiles(m.responsePercentile(50), m.responsePercentile(95), m.responsePercentile(99), m.maxResponse());
+            out.append(",\"turnaround\":");
+            percentiles(m.turnaroundPercentile(50), m.turnaroundPercentile(95), m.turnaroundPercentile(99), m.maxTurnaround());
+            out.append(",\"slowdown\":{\"p50\":").print(m.slowdownPercentile(50));
+            out.append(",\"p95\":").print(m.slowdownPercentile(95));
+            out.append(",\"p99\":").print(m.slowdownPercentile(99));
+            out.append(",\"max\":").print(m.maxSlowdown());
+            out.append(",\"mean\":").print(m.averageSlowdown());
+            out.append('}');
+            out.append(",\"fairness\":").print(m.fairnessIndex());
+            out.append(",\"queueDepth\":");
+            percentiles(m.queueDepthPercentile(50), m.queueDepthPercentile(95), m.queueDepthPercentile(99),
+                    m.queueDepthPercentile(100));
+            out.append(",\"phaseMillis\":{");
+            for (ScheduleMetrics.Phase phase : ScheduleMetrics.Phase.values()) {
+                if (phase.ordinal() > 0) out.append(',');
+                out.append('"').append(phase.name().toLowerCase(Locale.ROOT)).append("\":").print(m.phaseNanos(phase) / 1e6);
+            }
+            out.append("}}");
+        }
+        out.append('}');
+    }
+
+    @Override
+    public void end() {
+        out.println("]}");
+    }
+
+    private void percentiles(long p50, long p95, long p99, long max) {
+        out.append("{\"p50\":").print(p50);
+        out.append(",\"p95\":").print(p95);
+        out.append(",\"p99\":").print(p99);
+        out.append(",\"max\":").print(max);
+        out.append('}');
+    }
+
+    private static String string(String s) {
+        StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') sb.append('\\').append(c);
+            else if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+            else sb.append(c);
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,22 @@
+/**
+ * Running sum of doubles with Kahan compensation: the low-order bits each addition
+ * rounds away are carried into the next one, so the error stays at a few ulps of the
+ * result instead of growing with the number of terms. Used for fractional per-process
+ * metrics, where an exact long sum is not available.
+ */
+final class KahanSum {
+
+    private double sum;
+    private double compensation;
+
+    void add(double v) {
+        double y = v - compensation;
+        double t = sum + y;
+        compensation = (t - sum) - y;
+        sum = t;
+    }
+
+    double value() {
+        return sum;
+    }
+}
@@ -0,0 +1,104 @@
+import java.nio.IntBuffer;
+
+/**
+ * Selection rule for {@link PolicyEngine}. Whenever the engine picks a process, the ready
+ * process with the smallest int key wins; ties go to the earlier arrival, then to the
+ * smaller {@link #tieBreak} value if there is one, then to the smaller pid. A
+ * non-preemptive policy picks only when the CPU frees up; a preemptive one also picks at
+ * every arrival, so a process that arrives with a smaller key than the running one takes
+ * the CPU from it.
+ *
+ * Keys are plain ints, so the engine keeps them in its own primitive heap and the policy
+ * is only consulted when a process becomes ready, runs or completes, never per
+ * comparison. A new policy is a few lines, e.g. longest job first:
+ * <pre>
+ * Scheduler ljf = PolicyEngine.scheduler("LJF", KeyPolicy.nonPreemptive((w, i) -&gt; -w.burst(i)));
+ * </pre>
+ * Policies that keep state across a run (such as {@link BurstPredictor} estimates) must
+ * be created afresh for every run.
+ */
+public interface KeyPolicy {
+
+    /** Key of a process from the workload, for the factory methods. */
+    @FunctionalInterface
+    interface Key {
+        int of(Workload w, int i);
+    }
+
+    /** SJF: the shortest burst runs next. */
+    KeyPolicy SHORTEST_JOB = nonPreemptive((w, i) -> w.burst(i));
+
+    /** NPPS: the lowest priority value runs next. */
+    KeyPolicy PRIORITY = nonPreemptive((w, i) -> w.priority(i));
+
+    /** PPS: the lowest priority value holds the CPU, preempting on arrival. */
+    KeyPolicy PREEMPTIVE_PRIORITY = preemptive((w, i) -> w.priority(i));
+
+    /** SRTF: the shortest remaining time holds the CPU, preempting on arrival. */
+    KeyPolicy SHORTEST_REMAINING = new KeyPolicy() {
+        @Override
+        public boolean preemptive() {
+            return true;
+        }
+
+        @Override
+        public int readyKey(Workload w, int i) {
+            return w.burst(i);
+        }
+
+        @Override
+        public int afterRun(int key, int ran) {
+            return key - ran;
+        }
+    };
+
+    /** Whether arrivals can take the CPU from the running process. */
+    boolean preemptive();
+
+    /** Key of process {@code i} when it arrives. */
+    int readyKey(Workload w, int i);
+
+    /** Key of a preempted process that had {@code key} and then ran {@code ran} time units; unchanged by default. */
+    default int afterRun(int key, int ran) {
+        return key;
+    }
+
+    /** Process {@code i} has finished its burst. */
+    default void completed(Workload w, int i) {
+    }
+
+    /** Column that breaks ties between equal keys and equal arrival times, or null for pid order. */
+    default IntBuffer tieBreak(Workload w) {
+        return null;
+    }
+
+    /** Policy that runs the ready process with the smallest key to completion. */
+    static KeyPolicy nonPreemptive(Key key) {
+        return new KeyPolicy() {
+            @Override
+            public boolean preemptive() {
+                return false;
+            }
+
+            @Override
+            public int readyKey(Workload w, int i) {
+                return key.of(w, i);
+            }
+        };
+    }
+
+    /** Policy whose key is fixed at arrival and that preempts for any smaller key. */
+    static KeyPolicy preemptive(Key key) {
+        return new KeyPolicy() {
+            @Override
+            public boolean preemptive() {
+                return true;
+            }
+
+            @Override
+            public int readyKey(Workload w, int i) {
+                return key.of(w, i);
+            }
+        };
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * Fixed-bucket histogram of non-negative longs in the style of HdrHistogram: values below
+ * 256 are counted exactly, larger ones in 128 linear sub-buckets per power of two, so a
+ * reported percentile is within 1/128 of the true value. All buckets are allocated up
+ * front; recording is a shift, a subtraction and an array increment.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BITS = 7;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB_COUNT;
+
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    void record(long value) {
+        record(value, 1);
+    }
+
+    /** Records {@code value} {@code count} times, e.g. a queue depth weighted by its duration. */
+    void record(long value, long count) {
+        if (value < 0) {
+            throw new IllegalArgumentException("negative value: " + value);
+        }
+        if (count <= 0) return;
+        counts[index(value)] += count;
+        total += count;
+        sum += value * count;
+        if (value < min) min = value;
+        if (value > max) max = value;
+    }
+
+    long count() {
+        return total;
+    }
+
+    long min() {
+        return total == 0 ? 0 : min;
+    }
+
+    long max() {
+        return total == 0 ? 0 : max;
+    }
+
+    double mean() {
+        return total == 0 ? 0.0 : (double) sum / total;
+    }
+
+    /**
+     * Smallest recorded value v such that at least {@code percent}% of the recorded
+     * values are at most v, reported as the top of v's bucket (capped at the maximum).
+     */
+    long percentile(double percent) {
+        if (total == 0) return 0;
+        return Math.min(highestInBucket(bucket(percent)), max);
+    }
+
+    /**
+     * Like {@link #percentile} but reported as the bottom of v's bucket (raised to the
+     * minimum), for fixed-point values such as slowdown in hundredths, where the top of a
+     * bucket would print 4.01 for an exact 4.00. A value that is the lowest of its bucket,
+     * or the only value recorded, comes back exactly.
+     */
+    long lowPercentile(double percent) {
+        if (total == 0) return 0;
+        return Math.max(lowestInBucket(bucket(percent)), min);
+    }
+
+    // bucket holding the value of the given percentile rank
+    private int bucket(double percent) {
+        long rank = Math.max(1, (long) Math.ceil(percent / 100.0 * total));
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += counts[b];
+            if (seen >= rank) return b;
+        }
+        return BUCKETS - 1;
+    }
+
+    private static int index(long v) {
+        int high = 63 - Long.numberOfLeadingZeros(v);
+        if (high <= SUB_BITS) return (int) v;   // v < 2 * SUB_COUNT: one bucket per value
+        int shift = high - SUB_BITS;
+        return shift * SUB_COUNT + (int) (v >>> shift);
+    }
+
+    private static long lowestInBucket(int b) {
+        if (b < 2 * SUB_COUNT) return b;
+        int shift = b / SUB_COUNT - 1;
+        long mantissa = b - (long) shift * SUB_COUNT;
+        return mantissa << shift;
+    }
+
+    private static long highestInBucket(int b) {
+        if (b < 2 * SUB_COUNT) return b;
+        int shift = b / SUB_COUNT - 1;
+        long mantissa = b - (long) shift * SUB_COUNT;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
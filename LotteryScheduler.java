@@ -0,0 +1,115 @@
+import java.nio.IntBuffer;
+import java.util.SplittableRandom;
+
+/**
+ * Lottery scheduling: every quantum a ticket is drawn at random among the ready
+ * processes and its holder runs, so over time each process gets CPU in proportion to
+ * its tickets. As in the priority schedulers a lower priority value means a higher
+ * priority: a process with the largest priority value in the workload holds one ticket
+ * and each step down in value adds one more. All processes with the same priority form
+ * a tenant, see {@link TenantShares}.
+ *
+ * Tickets of ready processes sit in a {@link TicketTree}, so a draw is O(log n).
+ * Draws come from a {@link SplittableRandom} with a fixed seed: the same workload and
+ * seed always give the same schedule. As in Round Robin, switching to a different
+ * process costs the context switch time and arrivals never cut a quantum short.
+ */
+public final class LotteryScheduler implements Scheduler {
+
+    private final int quantum;
+    private final long seed;
+
+    public LotteryScheduler(int quantum, long seed) {
+        if (quantum <= 0) {
+            throw new IllegalArgumentException("quantum time must be positive: " + quantum);
+        }
+        this.quantum = quantum;
+        this.seed = seed;
+    }
+
+    /**
+     * Tickets of a process with the given priority value in a workload whose largest
+     * priority value is {@code largest}: {@code largest + 1 - priority}, capped at
+     * {@link Integer#MAX_VALUE}.
+     */
+    public static int tickets(int priority, int largest) {
+        if (priority > largest) {
+            throw new IllegalArgumentException("priority " + priority + " exceeds the largest " + largest);
+        }
+        return (int) Math.min(Integer.MAX_VALUE, (long) largest + 1 - priority);
+    }
+
+    /** Largest value in a priority column, 0 if it is empty. */
+    static int largestPriority(IntBuffer pr) {
+        int n = pr.limit();
+        if (n == 0) return 0;
+        int largest = Integer.MIN_VALUE;
+        for (int i = 0; i < n; i++) largest = Math.max(largest, pr.get(i));
+        return largest;
+    }
+
+    public int quantum() {
+        return quantum;
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    @Override
+    public String name() {
+        return "Lottery(q=" + quantum + ",seed=" + seed + ")";
+    }
+
+    @Override
+    public ScheduleResult schedule(Workload w) {
+        ScheduleRecorder rec = new ScheduleRecorder(w);
+        int count = w.size();
+        IntBuffer at = w.arrivalColumn();
+        IntBuffer bt = w.burstColumn();
+        IntBuffer pr = w.priorityColumn();
+        int largest = largestPriority(pr);
+        // tree slots are ranks in arrival order
+        int[] order = ProcessSort.byKeys(at);
+        rec.sorted();
+
+        int cs = w.contextSwitch();
+        SplittableRandom random = new SplittableRandom(seed);
+
+        TicketTree ready = new TicketTree(count);
+        int[] rem = new int[count];     // by rank, filled in as processes arrive
+        int cursor = 0;
+        int com = 0;
+        int ct = 0;
+        int held = -1;      // rank whose context is loaded on the CPU, -1 after idling
+        while (com != count) {
+            if (ready.total() == 0 && at.get(order[cursor]) > ct) {
+                rec.idle(ct, at.get(order[cursor]));
+                ct = at.get(order[cursor]);
+                held = -1;
+            }
+            while (cursor < count && at.get(order[cursor]) <= ct) {
+                int r = cursor++;
+                rem[r] = bt.get(order[r]);
+                ready.add(r, tickets(pr.get(order[r]), largest));
+            }
+
+            int r = ready.find(random.nextLong(ready.total()));
+            if (held != -1 && held != r) {
+                rec.contextSwitch(ct, ct + cs);
+                ct += cs;
+            }
+            held = r;
+            int slice = Math.min(rem[r], quantum);
+            rec.run(order[r], ct, ct + slice);
+            ct += slice;
+            rem[r] -= slice;
+            if (rem[r] == 0) {
+                com++;
+                rec.finish(order[r], ct);
+                ready.add(r, -tickets(pr.get(order[r]), largest));
+            }
+        }
+        return rec.build(name());
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * Outcome of a {@link MultiCoreSimulator} run. Per-process columns are indexed like the
+ * workload; per-core columns by core number.
+ */
+public final class MultiCoreResult {
+
+    private final String algorithm;
+    private final Workload workload;
+    private final int[] finish;
+    private final long[] coreBusy;
+    private final long steals;
+    private final ProcessStats stats;
+
+    MultiCoreResult(String algorithm, Workload workload, int[] finish, long[] coreBusy, long steals) {
+        this.algorithm = algorithm;
+        this.workload = workload;
+        this.finish = finish;
+        this.coreBusy = coreBusy;
+        this.steals = steals;
+        this.stats = ProcessStats.of(workload, finish);
+    }
+
+    public String algorithm() {
+        return algorithm;
+    }
+
+    public Workload workload() {
+        return workload;
+    }
+
+    public int cores() {
+        return coreBusy.length;
+    }
+
+    public int finish(int i) {
+        return finish[i];
+    }
+
+    /** Time at which the last process finished on any core. */
+    public int makespan() {
+        return stats.makespan();
+    }
+
+    public double averageWaitingTime() {
+        return stats.averageWaiting();
+    }
+
+    public double averageTurnaroundTime() {
+        return stats.averageTurnaround();
+    }
+
+    /** Share of [0, makespan) that the core spent running processes. */
+    public double coreUtilization(int core) {
+        return stats.makespan() == 0 ? 0.0 : (double) coreBusy[core] / stats.makespan();
+    }
+
+    /** Processes a core took from another core's queue (work-stealing mode only). */
+    public long steals() {
+        return steals;
+    }
+}
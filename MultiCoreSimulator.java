@@ -0,0 +1,354 @@
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Runs a scheduling policy across N identical cores.
+ * <ul>
+ *   <li>{@link Mode#GLOBAL}: one ready queue shared by all cores. For SRTF and PPS an
+ *       arriving process preempts the core running the worst process, if it beats it.</li>
+ *   <li>{@link Mode#WORK_STEALING}: every core has its own ready queue, arrivals join the
+ *       shortest one, and a core that runs dry steals from the longest queue.</li>
+ *   <li>{@link Mode#PARTITIONED}: processes are dealt round-robin to cores in arrival order
+ *       and never migrate. Cores are then independent, so each one is simulated by the
+ *       single-CPU scheduler on its own thread, which is the fast path for large traces.</li>
+ * </ul>
+ * Context switch cost is not modelled here; it only applies to single-CPU runs.
+ */
+public final class MultiCoreSimulator {
+
+    public enum Mode { GLOBAL, WORK_STEALING, PARTITIONED }
+
+    private final SchedulingPolicy policy;
+    private final int cores;
+    private final Mode mode;
+    private final int quantum;
+
+    public MultiCoreSimulator(SchedulingPolicy policy, int cores, Mode mode, int quantum) {
+        if (cores <= 0) {
+            throw new IllegalArgumentException("core count must be positive: " + cores);
+        }
+        if (policy == SchedulingPolicy.RR && quantum <= 0) {
+            throw new IllegalArgumentException("quantum time must be positive: " + quantum);
+        }
+        this.policy = policy;
+        this.cores = cores;
+        this.mode = mode;
+        this.quantum = quantum;
+    }
+
+    public String name() {
+        String p = policy == SchedulingPolicy.RR ? "RR(q=" + quantum + ")" : policy.name();
+        return p + " " + mode.name().toLowerCase(Locale.ROOT) + " x" + cores;
+    }
+
+    public MultiCoreResult run(Workload w) {
+        return mode == Mode.PARTITIONED ? runPartitioned(w) : new Run(w).simulate();
+    }
+
+    // FCFS breaks arrival ties by burst, like the single-CPU scheduler; the others by pid
+    private int[] arrivalOrder(Workload w) {
+        if (policy == SchedulingPolicy.FCFS) {
+            return ProcessSort.byKeys(w.arrivalColumn(), w.burstColumn());
+        }
+        return ProcessSort.byKeys(w.arrivalColumn());
+    }
+
+    // ---------- partitioned: independent cores, simulated in parallel ----------
+
+    private MultiCoreResult runPartitioned(Workload w) {
+        int n = w.size();
+        int[] order = arrivalOrder(w);
+        int[] sizes = new int[cores];
+        for (int r = 0; r < n; r++) sizes[r % cores]++;
+
+        List<ForkJoinTask<ScheduleResult>> tasks = new ArrayList<>(cores);
+        int[][] members = new int[cores][];
+        for (int c = 0; c < cores; c++) {
+            int m = sizes[c];
+            int[] idx = new int[m];
+            int[] at = new int[m];
+            int[] bt = new int[m];
+            int[] pr = new int[m];
+            for (int k = 0; k < m; k++) {
+                int i = order[k * cores + c];
+                idx[k] = i;
+                at[k] = w.arrival(i);
+                bt[k] = w.burst(i);
+                pr[k] = w.priority(i);
+            }
+            members[c] = idx;
+            Workload part = Workload.wrap(at, bt, pr, 0);
+            Scheduler s = policy.scheduler(quantum);
+            tasks.add(ForkJoinTask.adapt(() -> s.schedule(part)));
+        }
+        ForkJoinPool.commonPool().invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+
+        int[] finish = new int[n];
+        long[] busy = new long[cores];
+        for (int c = 0; c < cores; c++) {
+            ScheduleResult r = tasks.get(c).join();
+            int[] idx = members[c];
+            for (int k = 0; k < idx.length; k++) {
+                finish[idx[k]] = r.finish(k);
+                busy[c] += w.burst(idx[k]);
+            }
+        }
+        return new MultiCoreResult(name(), w, finish, busy, 0);
+    }
+
+    // ---------- global queue and work stealing: one event-driven run ----------
+
+    private final class Run {
+        private final Workload w;
+        private final int n;
+        private final int[] order;        // rank -> workload index, arrival order
+        private final int[] at;           // by rank
+        private final int[] rem;          // by rank
+        private final int[] finish;       // by workload index
+        private final boolean fifo = policy == SchedulingPolicy.FCFS || policy == SchedulingPolicy.RR;
+        private final int slice = policy == SchedulingPolicy.RR ? quantum : Integer.MAX_VALUE;
+
+        // ready queues: one in GLOBAL mode, one per core otherwise
+        private final IndexHeap[] heaps;
+        private final IntQueue[] queues;
+        private final int[] queued;
+
+        private final int[] running;      // rank per core, -1 when idle
+        private final int[] runStart;
+        private final int[] runStop;
+        private final long[] busy;
+        private final IndexHeap stops;    // (stop time, core); entries go stale on preemption
+        private final IntQueue idle;
+        private final IntQueue expired;   // RR processes whose quantum ended at the current time
+        private final IntQueue expiredOn; // ... and the core each one ran on
+        private long steals;
+
+        Run(Workload w) {
+            this.w = w;
+            n = w.size();
+            order = arrivalOrder(w);
+            at = new int[n];
+            rem = new int[n];
+            for (int r = 0; r < n; r++) {
+                at[r] = w.arrival(order[r]);
+                rem[r] = w.burst(order[r]);
+            }
+            finish = new int[n];
+
+            int qs = mode == Mode.GLOBAL ? 1 : cores;
+            heaps = new IndexHeap[qs];
+            queues = new IntQueue[qs];
+            for (int q = 0; q < qs; q++) {
+                if (fifo) queues[q] = new IntQueue(16);
+                else heaps[q] = new IndexHeap(16);
+            }
+            queued = new int[qs];
+
+            running = new int[cores];
+            runStart = new int[cores];
+            runStop = new int[cores];
+            busy = new long[cores];
+            stops = new IndexHeap(cores);
+            idle = new IntQueue(cores);
+            for (int c = 0; c < cores; c++) {
+                running[c] = -1;
+                idle.add(c);
+            }
+            expired = new IntQueue(cores);
+            expiredOn = new IntQueue(cores);
+        }
+
+        MultiCoreResult simulate() {
+            int cursor = 0;
+            int complete = 0;
+            while (complete < n) {
+                dropStaleStops();
+                long nextStop = stops.isEmpty() ? Long.MAX_VALUE : stops.peekKey();
+                long nextArrival = cursor < n ? at[cursor] : Long.MAX_VALUE;
+                int now = (int) Math.min(nextStop, nextArrival);
+
+                // 1. slices ending now
+                while (!stops.isEmpty() && stops.peekKey() == now) {
+                    int c = stops.pop();
+                    int r = running[c];
+                    if (r == -1 || runStop[c] != now) continue;
+                    stopCore(c, now);
+                    if (rem[r] == 0) {
+                        finish[order[r]] = now;
+                        complete++;
+                    } else {
+                        expired.add(r);
+                        expiredOn.add(c);
+                    }
+                }
+                // 2. arrivals, preempting a worse running process where the policy allows it
+                while (cursor < n && at[cursor] == now) {
+                    int r = cursor++;
+                    int q = mode == Mode.GLOBAL ? 0 : shortestQueue();
+                    enqueue(q, r);
+                    if (policy.preemptive && policy != SchedulingPolicy.RR) preemptFor(q, r, now);
+                }
+                // 3. RR: processes arriving at the end of a quantum queue ahead of the expired ones
+                while (!expired.isEmpty()) {
+                    int r = expired.poll();
+                    int c = expiredOn.poll();
+                    enqueue(mode == Mode.GLOBAL ? 0 : c, r);
+                }
+                // 4. hand work to idle cores
+                for (int k = idle.size(); k > 0; k--) {
+                    int c = idle.poll();
+                    int q = mode == Mode.GLOBAL ? 0 : c;
+                    if (queued[q] == 0 && mode == Mode.WORK_STEALING) {
+                        int victim = longestQueue();
+                        if (queued[victim] > 0) {
+                            q = victim;
+                            steals++;
+                        }
+                    }
+                    if (queued[q] > 0) {
+                        start(c, dequeue(q), now);
+                    } else {
+                        idle.add(c);
+                    }
+                }
+            }
+
+            return new MultiCoreResult(name(), w, finish, busy, steals);
+        }
+
+        private void start(int c, int r, int now) {
+            running[c] = r;
+            runStart[c] = now;
+            runStop[c] = now + Math.min(rem[r], slice);
+            stops.push(runStop[c], c);
+        }
+
+        private void stopCore(int c, int now) {
+            int r = running[c];
+            int ran = now - runStart[c];
+            rem[r] -= ran;
+            busy[c] += ran;
+            running[c] = -1;
+            idle.add(c);
+        }
+
+        private void preemptFor(int q, int r, int now) {
+            // enough free cores to take every queued process, the arrival included
+            if (mode == Mode.GLOBAL && queued[0] <= idle.size()) return;
+            int victim = -1;
+            if (mode == Mode.GLOBAL) {
+                for (int c = 0; c < cores; c++) {
+                    if (running[c] != -1 && (victim == -1 || worse(running[c], c, running[victim], victim, now))) victim = c;
+                }
+            } else if (running[q] != -1) {
+                victim = q;
+            } else {
+                return;
+            }
+            if (victim == -1 || !beats(r, running[victim], victim, now)) return;
+            int v = running[victim];
+            stopCore(victim, now);
+            enqueue(mode == Mode.GLOBAL ? 0 : victim, v);
+        }
+
+        private int liveKey(int r, int c, int now) {
+            if (policy == SchedulingPolicy.SRTF) return rem[r] - (c >= 0 ? now - runStart[c] : 0);
+            return w.priority(order[r]);
+        }
+
+        // r (ready, not running) strictly beats the process running on core c
+        private boolean beats(int r, int runningRank, int c, int now) {
+            int kr = liveKey(r, -1, now);
+            int kc = liveKey(runningRank, c, now);
+            return kr != kc ? kr < kc : r < runningRank;
+        }
+
+        private boolean worse(int a, int ca, int b, int cb, int now) {
+            int ka = liveKey(a, ca, now);
+            int kb = liveKey(b, cb, now);
+            return ka != kb ? ka > kb : a > b;
+        }
+
+        private void enqueue(int q, int r) {
+            queued[q]++;
+            if (fifo) {
+                queues[q].add(r);
+                return;
+            }
+            int key;
+            switch (policy) {
+                case SJF:
+                    key = w.burst(order[r]);
+                    break;
+                case SRTF:
+                    key = rem[r];
+                    break;
+                default:
+                    key = w.priority(order[r]);
+            }
+            heaps[q].push(key, r);
+        }
+
+        private int dequeue(int q) {
+            queued[q]--;
+            return fifo ? queues[q].poll() : heaps[q].pop();
+        }
+
+        // join-shortest-queue, counting the running process as part of a core's queue
+        private int shortestQueue() {
+            int best = 0;
+            int bestLoad = Integer.MAX_VALUE;
+            for (int c = 0; c < cores; c++) {
+                int load = queued[c] + (running[c] != -1 ? 1 : 0);
+                if (load < bestLoad) {
+                    best = c;
+                    bestLoad = load;
+                }
+            }
+            return best;
+        }
+
+        private int longestQueue() {
+            int best = 0;
+            for (int c = 1; c < cores; c++) {
+                if (queued[c] > queued[best]) best = c;
+            }
+            return best;
+        }
+
+        private void dropStaleStops() {
+            while (!stops.isEmpty()) {
+                int c = stops.peekIndex();
+                if (running[c] != -1 && runStop[c] == stops.peekKey()) return;
+                stops.pop();
+            }
+        }
+    }
+
+    // ---------- reporting ----------
+
+    /** One row per run: averages, makespan, and min/mean/max core utilization. */
+    static void printTable(List<MultiCoreResult> results, PrintStream out) {
+        out.println();
+        out.printf(" %-28s %12s %14s %10s %8s %8s %8s %8s%n",
+                "SIMULATION", "AVG WAITING", "AVG TURNAROUND", "MAKESPAN", "MIN CPU%", "AVG CPU%", "MAX CPU%", "STEALS");
+        for (MultiCoreResult r : results) {
+            double min = Double.MAX_VALUE;
+            double max = 0.0;
+            double sum = 0.0;
+            for (int c = 0; c < r.cores(); c++) {
+                double u = r.coreUtilization(c);
+                min = Math.min(min, u);
+                max = Math.max(max, u);
+                sum += u;
+            }
+            out.printf(" %-28s %12.2f %14.2f %10d %8.2f %8.2f %8.2f %8d%n", r.algorithm(),
+                    r.averageWaitingTime(), r.averageTurnaroundTime(), r.makespan(),
+                    100.0 * min, 100.0 * sum / r.cores(), 100.0 * max, r.steals());
+        }
+    }
+}
@@ -0,0 +1,234 @@
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * Multilevel feedback queue: Round Robin within each level, strict priority between
+ * levels (level 0 first), with aging so low levels cannot starve.
+ * <ul>
+ *   <li>Arrivals enter level 0. A process that arrives while a lower level is running
+ *       preempts it; the preempted process keeps the time it has used at its level.</li>
+ *   <li>A process that uses up its level's quantum moves down one level; the last level
+ *       is plain Round Robin.</li>
+ *   <li>Every {@code boostInterval} time units all processes return to level 0 with a
+ *       fresh allotment (0 disables the boost).</li>
+ * </ul>
+ * Levels are intrusive linked lists over one {@code next} column, so enqueue, dequeue
+ * and the boost (splicing every level onto level 0) are O(1) per level regardless of
+ * the number of ready processes; the top non-empty level comes from a bitmask.
+ * Allotments are reset lazily: a boost bumps an epoch, and a process whose allotment
+ * predates the current epoch starts its next slice from zero.
+ */
+public final class MultilevelFeedbackQueue implements Scheduler {
+
+    /** Upper bound on levels, set by the width of the non-empty level mask. */
+    public static final int MAX_LEVELS = 64;
+
+    private final int[] quanta;
+    private final int boostInterval;
+
+    /**
+     * @param quanta        quantum of each level, level 0 first
+     * @param boostInterval time between priority boosts, 0 for none
+     */
+    public MultilevelFeedbackQueue(int[] quanta, int boostInterval) {
+        if (quanta.length == 0 || quanta.length > MAX_LEVELS) {
+            throw new IllegalArgumentException("number of levels must be between 1 and " + MAX_LEVELS + ": " + quanta.length);
+        }
+        for (int q : quanta) {
+            if (q <= 0) {
+                throw new IllegalArgumentException("quantum time must be positive: " + q);
+            }
+        }
+        if (boostInterval < 0) {
+            throw new IllegalArgumentException("boost interval must not be negative: " + boostInterval);
+        }
+        this.quanta = quanta.clone();
+        this.boostInterval = boostInterval;
+    }
+
+    /** {@code levels} levels whose quantum doubles from {@code baseQuantum} at level 0. */
+    public static MultilevelFeedbackQueue doubling(int levels, int baseQuantum, int boostInterval) {
+        if (levels <= 0 || levels > MAX_LEVELS) {
+            throw new IllegalArgumentException("number of levels must be between 1 and " + MAX_LEVELS + ": " + levels);
+        }
+        int[] quanta = new int[levels];
+        long q = baseQuantum;
+        for (int l = 0; l < levels; l++) {
+            quanta[l] = (int) Math.min(q, Integer.MAX_VALUE);
+            q <<= 1;
+        }
+        return new MultilevelFeedbackQueue(quanta, boostInterval);
+    }
+
+    public int levels() {
+        return quanta.length;
+    }
+
+    public int quantum(int level) {
+        return quanta[level];
+    }
+
+    public int boostInterval() {
+        return boostInterval;
+    }
+
+    @Override
+    public String name() {
+        StringBuilder sb = new StringBuilder("MLFQ(q=");
+        for (int l = 0; l < quanta.length; l++) {
+            if (l > 0) sb.append('/');
+            sb.append(quanta[l]);
+        }
+        if (boostInterval > 0) sb.append(",boost=").append(boostInterval);
+        return sb.append(')').toString();
+    }
+
+    @Override
+    public ScheduleResult schedule(Workload w) {
+        return new Run(w).simulate();
+    }
+
+    private final class Run {
+        private final Workload w;
+        private final int count;
+        private final IntBuffer at;
+        private final ScratchColumn rt;
+        private final int[] order;
+        private final ScheduleRecorder rec;
+
+        // per-level FIFO lists threaded through next[]
+        private final int[] head;
+        private final int[] tail;
+        private final int[] next;
+        private long nonEmpty;
+
+        private final int[] used;        // time used at the current level
+        private final int[] usedEpoch;   // boost epoch in which used was last updated
+        private int epoch;
+        private int cursor;
+
+        Run(Workload w) {
+            this.w = w;
+            rec = new ScheduleRecorder(w);
+            count = w.size();
+            at = w.arrivalColumn();
+            rt = w.burstScratch();
+            order = ProcessSort.byKeys(at);
+            rec.sorted();
+            head = new int[quanta.length];
+            tail = new int[quanta.length];
+            Arrays.fill(head, -1);
+            next = new int[count];
+            used = new int[count];
+            usedEpoch = new int[count];
+        }
+
+        ScheduleResult simulate() {
+            int levels = quanta.length;
+            int cs = w.contextSwitch();
+            long nextBoost = boostInterval > 0 ? boostInterval : Long.MAX_VALUE;
+
+            int com = 0;
+            int ct = 0;
+            int held = -1;      // process whose context is loaded on the CPU, -1 after idling
+            while (com != count) {
+                if (ct >= nextBoost) {
+                    boost();
+                    nextBoost = ((long) ct / boostInterval + 1) * boostInterval;
+                }
+                if (nonEmpty == 0 && at.get(order[cursor]) > ct) {
+                    rec.idle(ct, at.get(order[cursor]));
+                    ct = at.get(order[cursor]);
+                    held = -1;
+                    continue;     // a boost may be due at the new time
+                }
+                admit(ct);
+
+                int level = Long.numberOfTrailingZeros(nonEmpty);
+                int i = head[level];
+                head[level] = next[i];
+                if (head[level] == -1) nonEmpty &= ~(1L << level);
+                if (usedEpoch[i] != epoch) {
+                    used[i] = 0;
+                    usedEpoch[i] = epoch;
+                }
+
+                if (held != -1 && held != i) {
+                    rec.contextSwitch(ct, ct + cs);
+                    ct += cs;
+                    held = i;
+                    // an arrival above this level or a boost during the switch: i is loaded but preempted at once
+                    if ((admit(ct) && level > 0) || ct >= nextBoost) {
+                        pushFront(level, i);
+                        continue;
+                    }
+                }
+                held = i;
+                // the slice ends with the quantum, at an arrival that outranks this level, or at a boost
+                int left = rt.get(i);
+                long end = (long) ct + Math.min(left, quanta[level] - used[i]);
+                if (level > 0 && cursor < count) end = Math.min(end, at.get(order[cursor]));
+                end = Math.min(end, nextBoost);
+                int slice = (int) (end - ct);
+                rec.run(i, ct, ct + slice);
+                ct += slice;
+                rt.set(i, left - slice);
+                used[i] += slice;
+
+                // arrivals during this slice queue up ahead of the preempted process
+                admit(ct);
+                if (left == slice) {
+                    com++;
+                    rec.finish(i, ct);
+                } else if (used[i] >= quanta[level]) {
+                    used[i] = 0;
+                    push(Math.min(level + 1, levels - 1), i);
+                } else {
+                    // cut short by an arrival or a boost: resume first once its level is on top again
+                    pushFront(level, i);
+                }
+            }
+            return rec.build(name());
+        }
+
+        /** Admits arrivals up to time t into level 0 with a fresh allotment; true if any arrived. */
+        private boolean admit(int t) {
+            int before = cursor;
+            while (cursor < count && at.get(order[cursor]) <= t) {
+                int a = order[cursor++];
+                used[a] = 0;
+                usedEpoch[a] = epoch;
+                push(0, a);
+            }
+            return cursor > before;
+        }
+
+        /** Splices every lower level onto level 0 in order; allotments reset through the epoch. */
+        private void boost() {
+            for (int l = 1; l < quanta.length; l++) {
+                if (head[l] == -1) continue;
+                if (head[0] == -1) head[0] = head[l];
+                else next[tail[0]] = head[l];
+                tail[0] = tail[l];
+                head[l] = -1;
+            }
+            nonEmpty = head[0] == -1 ? 0 : 1;
+            epoch++;
+        }
+
+        private void push(int level, int i) {
+            next[i] = -1;
+            if (head[level] == -1) head[level] = i;
+            else next[tail[level]] = i;
+            tail[level] = i;
+            nonEmpty |= 1L << level;
+        }
+
+        private void pushFront(int level, int i) {
+            next[i] = head[level];
+            if (head[level] == -1) tail[level] = i;
+            head[level] = i;
+            nonEmpty |= 1L << level;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+/** NPPS: the ready process with the lowest priority value runs next, to completion; switches are free unless charged. */
+public final class NonPreemptivePriority implements Scheduler {
+
+    private final boolean chargeSwitches;
+
+    public NonPreemptivePriority() {
+        this(false);
+    }
+
+    /** @param chargeSwitches charge the workload's context switch time between two processes */
+    public NonPreemptivePriority(boolean chargeSwitches) {
+        this.chargeSwitches = chargeSwitches;
+    }
+
+    @Override
+    public String name() {
+        return "NPPS";
+    }
+
+    @Override
+    public ScheduleResult schedule(Workload w) {
+        return PolicyEngine.run(w, KeyPolicy.PRIORITY, name(), chargeSwitches);
+    }
+}
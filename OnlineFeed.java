@@ -0,0 +1,116 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Line-oriented driver for {@link OnlineScheduler}, so a live feed can be piped in
+ * (or connected through a socket with e.g. netcat).
+ *
+ * <pre>
+ * java OnlineFeed SRTF            java OnlineFeed RR 4 --context-switch 1
+ *
+ * input commands, one per line:
+ *   submit ARRIVAL BURST PRIORITY [PID]   (pid defaults to the submission count)
+ *   advance TIME
+ *   drain
+ * output, one decision per line:
+ *   dispatch PID TIME | preempt PID TIME | complete PID TIME
+ * </pre>
+ * Output is flushed after every command, so a consumer sees decisions as soon as they are made.
+ */
+public final class OnlineFeed {
+
+    private OnlineFeed() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: java OnlineFeed FCFS|SJF|SRTF|NPPS|PPS|RR [quantum] [--context-switch TIME]");
+            return;
+        }
+        SchedulingPolicy policy;
+        int quantum = 0;
+        int contextSwitch = 0;
+        try {
+            policy = SchedulingPolicy.parse(args[0]);
+            for (int k = 1; k < args.length; k++) {
+                if (args[k].equals("--context-switch")) {
+                    if (++k == args.length) {
+                        System.err.println("Missing value for --context-switch");
+                        return;
+                    }
+                    contextSwitch = Integer.parseInt(args[k]);
+                } else {
+                    quantum = Integer.parseInt(args[k]);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid policy, quantum or context switch time: " + e.getMessage());
+            return;
+        }
+
+        PrintWriter out = new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), false);
+        OnlineScheduler.Listener listener = new OnlineScheduler.Listener() {
+            @Override
+            public void dispatch(int pid, int time) {
+                out.append("dispatch ").print(pid);
+                out.append(' ').println(time);
+            }
+
+            @Override
+            public void preempt(int pid, int time) {
+                out.append("preempt ").print(pid);
+                out.append(' ').println(time);
+            }
+
+            @Override
+            public void complete(int pid, int time) {
+                out.append("complete ").print(pid);
+                out.append(' ').println(time);
+            }
+        };
+        OnlineScheduler scheduler;
+        try {
+            scheduler = new OnlineScheduler(policy, quantum, contextSwitch, listener);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return;
+        }
+
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        int submitted = 0;
+        String line;
+        while ((line = in.readLine()) != null) {
+            String[] tok = line.trim().split("\\s+");
+            if (tok[0].isEmpty()) continue;
+            try {
+                switch (tok[0]) {
+                    case "submit":
+                        submitted++;
+                        int pid = tok.length > 4 ? Integer.parseInt(tok[4]) : submitted;
+                        scheduler.submit(pid, Integer.parseInt(tok[1]), Integer.parseInt(tok[2]), Integer.parseInt(tok[3]));
+                        break;
+                    case "advance":
+                        scheduler.advanceTo(Integer.parseInt(tok[1]));
+                        break;
+                    case "drain":
+                        scheduler.drain();
+                        break;
+                    default:
+                        System.err.println("unknown command: " + line);
+                }
+            } catch (RuntimeException e) {
+                // malformed line or a time in the past: report it and keep the feed alive
+                System.err.println("rejected '" + line + "': " + e.getMessage());
+            }
+            out.flush();
+        }
+        scheduler.drain();
+        out.printf("completed %d  average waiting %.2f  average turnaround %.2f%n",
+                scheduler.completedCount(), scheduler.averageWaitingTime(), scheduler.averageTurnaroundTime());
+        out.flush();
+    }
+}
@@ -0,0 +1,358 @@
+import java.util.Arrays;
+
+/**
+ * Incremental form of the six schedulers for a live feed of jobs. Processes are handed in
+ * one at a time with {@link #submit}, the clock moves forward with {@link #advanceTo},
+ * and every decision is reported to the {@link Listener} as it happens.
+ *
+ * Only in-flight processes are stored: a completed process releases its slot, so memory
+ * is bounded by the peak number of submitted-but-unfinished processes, not by the length
+ * of the feed. Ready processes sit in a min-heap (or a FIFO ring for FCFS and RR) and
+ * future arrivals in a second heap keyed by arrival time, so each event is O(log n).
+ *
+ * Context switches are charged like the batch schedulers do: under SRTF, PPS and RR
+ * loading a process other than the one last on the CPU takes the switch time, after
+ * idling nothing does, and the dispatch is reported once the switch is over; SRTF and
+ * PPS re-check their pick at the end, so a better process that arrived meanwhile goes
+ * first. FCFS, SJF and NPPS switch for free. Equal arrivals are taken in submission order, except for
+ * FCFS, which like {@link FirstComeFirstServed} takes the shorter burst first. Fed a whole
+ * workload in (arrival, pid) order with the workload's switch time, the finish times
+ * equal those of the batch scheduler for the same policy.
+ */
+public final class OnlineScheduler {
+
+    /** Receives scheduling decisions in time order. */
+    public interface Listener {
+        void dispatch(int pid, int time);
+
+        /** The process lost the CPU before finishing (preempted or quantum expired). */
+        void preempt(int pid, int time);
+
+        void complete(int pid, int time);
+    }
+
+    private static final int NONE = -1;
+
+    private final SchedulingPolicy policy;
+    private final int quantum;
+    private final int contextSwitch;
+    private final Listener listener;
+
+    // per-slot process state, reused through the free list
+    private int[] pid;
+    private int[] arrival;
+    private int[] burst;
+    private int[] priority;
+    private int[] remaining;
+    private long[] seq;
+    private int[] free;
+    private int freeCount;
+    private int slots;
+    private long nextSeq;
+
+    private int[] pending;                   // min-heap of slots by (arrival, seq), arrival in the future
+    private int pendingSize;
+    private int[] ready;                     // min-heap of slots by (key, seq)
+    private int readySize;
+    private final IntQueue fifo;             // ready queue for FCFS and RR
+
+    private int now;
+    private int running = NONE;
+    private int runStart;                    // end of the switch to running, then the start of its slice
+    private boolean switching;               // running is still being switched in until runStart
+    private long loaded = NONE;              // seq of the process whose context is on the CPU, NONE after idling
+    private int inFlight;
+
+    private long completed;
+    private long waitSum;
+    private long turnaroundSum;
+
+    /** Scheduler with free context switches. */
+    public OnlineScheduler(SchedulingPolicy policy, int quantum, Listener listener) {
+        this(policy, quantum, 0, listener);
+    }
+
+    public OnlineScheduler(SchedulingPolicy policy, int quantum, int contextSwitch, Listener listener) {
+        if (policy == SchedulingPolicy.RR && quantum <= 0) {
+            throw new IllegalArgumentException("quantum time must be positive: " + quantum);
+        }
+        if (contextSwitch < 0) {
+            throw new IllegalArgumentException("negative context switch time: " + contextSwitch);
+        }
+        this.policy = policy;
+        this.quantum = policy == SchedulingPolicy.RR ? quantum : Integer.MAX_VALUE;
+        this.contextSwitch = policy.preemptive ? contextSwitch : 0;
+        this.listener = listener;
+        int capacity = 64;
+        pid = new int[capacity];
+        arrival = new int[capacity];
+        burst = new int[capacity];
+        priority = new int[capacity];
+        remaining = new int[capacity];
+        seq = new long[capacity];
+        free = new int[capacity];
+        ready = new int[capacity];
+        pending = new int[capacity];
+        fifo = new IntQueue(capacity);
+    }
+
+    public int now() {
+        return now;
+    }
+
+    /** Submitted processes that have not completed yet. */
+    public int inFlight() {
+        return inFlight;
+    }
+
+    public long completedCount() {
+        return completed;
+    }
+
+    public double averageWaitingTime() {
+        return completed == 0 ? 0.0 : (double) waitSum / completed;
+    }
+
+    public double averageTurnaroundTime() {
+        return completed == 0 ? 0.0 : (double) turnaroundSum / completed;
+    }
+
+    /**
+     * Adds a process arriving at {@code arrivalTime}, which may not lie before the current
+     * clock. Nothing is decided here: decisions at a time T are only taken once the clock
+     * moves past T, so every process submitted for T competes on equal terms.
+     */
+    public void submit(int processId, int arrivalTime, int burstTime, int priorityValue) {
+        if (arrivalTime < now) {
+            throw new IllegalArgumentException("arrival " + arrivalTime + " is before current time " + now);
+        }
+        if (burstTime < 0) {
+            throw new IllegalArgumentException("negative burst time for process " + processId);
+        }
+        int s = allocate();
+        pid[s] = processId;
+        arrival[s] = arrivalTime;
+        burst[s] = burstTime;
+        priority[s] = priorityValue;
+        remaining[s] = burstTime;
+        seq[s] = nextSeq++;
+        inFlight++;
+        siftUp(pending, pendingSize++, s, true);
+    }
+
+    /**
+     * Moves the clock to {@code time}, emitting every decision taken before it.
+     * Events at exactly {@code time} stay open until the next call, since more
+     * processes may still be submitted for that instant.
+     */
+    public void advanceTo(int time) {
+        if (time < now) {
+            throw new IllegalArgumentException("cannot move the clock back from " + now + " to " + time);
+        }
+        run(time, false);
+        now = time;
+    }
+
+    /**
+     * Runs until every submitted process has completed, treating the feed as closed up to
+     * the returned completion time.
+     */
+    public int drain() {
+        run(Long.MAX_VALUE, true);
+        return now;
+    }
+
+    private void run(long limit, boolean inclusive) {
+        while (inclusive || now < limit) {
+            // end the running slice first if it is due
+            if (running != NONE && !switching && (long) runStart + Math.min(remaining[running], quantum) <= now) {
+                int s = running;
+                remaining[s] -= now - runStart;
+                running = NONE;
+                if (remaining[s] == 0) {
+                    finish(s);
+                } else {
+                    // RR: processes arriving by the end of the quantum queue ahead of the preempted one
+                    while (arrivalDue()) makeReady(popPending());
+                    listener.preempt(pid[s], now);
+                    makeReady(s);
+                }
+            }
+            // admit arrivals that are due
+            while (arrivalDue()) {
+                int s = popPending();
+                makeReady(s);
+                if (running != NONE && !switching && preemptsOnArrival() && beats(s, running)) {
+                    preemptRunning();
+                }
+            }
+            // end of a switch: SRTF and PPS give way to a better process that arrived during it
+            if (switching && runStart <= now) {
+                switching = false;
+                if (preemptsOnArrival() && hasReady() && beats(ready[0], running)) {
+                    makeReady(running);
+                    running = NONE;
+                } else {
+                    listener.dispatch(pid[running], now);
+                }
+            }
+            if (running == NONE) {
+                if (hasReady()) {
+                    running = takeReady();
+                    if (loaded != NONE && loaded != seq[running] && contextSwitch > 0) {
+                        switching = true;
+                        runStart = now + contextSwitch;
+                    } else {
+                        runStart = now;
+                        listener.dispatch(pid[running], now);
+                    }
+                    loaded = seq[running];
+                } else {
+                    loaded = NONE;      // the CPU idles
+                }
+            }
+
+            long nextArrival = pendingSize == 0 ? Long.MAX_VALUE : arrival[pending[0]];
+            long stop = running == NONE ? Long.MAX_VALUE
+                    : switching ? runStart
+                    : (long) runStart + Math.min(remaining[running], quantum);
+            long next = Math.min(nextArrival, stop);
+            if (next == Long.MAX_VALUE || next > limit || (!inclusive && next == limit)) break;
+
+            now = (int) next;
+        }
+    }
+
+    private void preemptRunning() {
+        int s = running;
+        remaining[s] -= now - runStart;
+        running = NONE;
+        listener.preempt(pid[s], now);
+        makeReady(s);
+    }
+
+    private void finish(int s) {
+        listener.complete(pid[s], now);
+        long tat = (long) now - arrival[s];
+        turnaroundSum += tat;
+        waitSum += tat - burst[s];
+        completed++;
+        inFlight--;
+        free[freeCount++] = s;
+    }
+
+    private boolean preemptsOnArrival() {
+        return policy.preemptive && policy != SchedulingPolicy.RR;
+    }
+
+    // ---------- ready set ----------
+
+    private boolean usesFifo() {
+        return policy == SchedulingPolicy.FCFS || policy == SchedulingPolicy.RR;
+    }
+
+    private boolean hasReady() {
+        return usesFifo() ? !fifo.isEmpty() : readySize > 0;
+    }
+
+    private void makeReady(int s) {
+        if (usesFifo()) {
+            fifo.add(s);
+        } else {
+            siftUp(ready, readySize++, s, false);
+        }
+    }
+
+    private int takeReady() {
+        if (usesFifo()) return fifo.poll();
+        int top = ready[0];
+        readySize--;
+        if (readySize > 0) siftDown(ready, readySize, ready[readySize], false);
+        return top;
+    }
+
+    private boolean arrivalDue() {
+        return pendingSize > 0 && arrival[pending[0]] <= now;
+    }
+
+    private int popPending() {
+        int top = pending[0];
+        pendingSize--;
+        if (pendingSize > 0) siftDown(pending, pendingSize, pending[pendingSize], true);
+        return top;
+    }
+
+    // heap order: by arrival for the pending heap, by policy key for the ready heap; ties by
+    // submission, after the burst for FCFS arrivals
+    private boolean precedes(int a, int b, boolean byArrival) {
+        if (!byArrival) return beats(a, b);
+        if (arrival[a] != arrival[b]) return arrival[a] < arrival[b];
+        if (policy == SchedulingPolicy.FCFS && burst[a] != burst[b]) return burst[a] < burst[b];
+        return seq[a] < seq[b];
+    }
+
+    private void siftUp(int[] heap, int i, int s, boolean byArrival) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!precedes(s, heap[parent], byArrival)) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = s;
+    }
+
+    // places s, taken from the end of a heap of the given size, starting at the root
+    private void siftDown(int[] heap, int size, int s, boolean byArrival) {
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            if (child + 1 < size && precedes(heap[child + 1], heap[child], byArrival)) child++;
+            if (!precedes(heap[child], s, byArrival)) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = s;
+    }
+
+    private int key(int s) {
+        switch (policy) {
+            case SJF:
+                return burst[s];
+            case SRTF:
+                // the running process has used part of its remaining time since runStart
+                return s == running ? remaining[s] - (now - runStart) : remaining[s];
+            case NPPS:
+            case PPS:
+                return priority[s];
+            default:
+                return 0;
+        }
+    }
+
+    /** Strictly better: smaller key, ties to the earlier submission. */
+    private boolean beats(int a, int b) {
+        int ka = key(a);
+        int kb = key(b);
+        return ka != kb ? ka < kb : seq[a] < seq[b];
+    }
+
+    // ---------- slots ----------
+
+    private int allocate() {
+        if (freeCount > 0) return free[--freeCount];
+        if (slots == pid.length) {
+            int capacity = slots << 1;
+            pid = Arrays.copyOf(pid, capacity);
+            arrival = Arrays.copyOf(arrival, capacity);
+            burst = Arrays.copyOf(burst, capacity);
+            priority = Arrays.copyOf(priority, capacity);
+            remaining = Arrays.copyOf(remaining, capacity);
+            seq = Arrays.copyOf(seq, capacity);
+            free = Arrays.copyOf(free, capacity);
+            ready = Arrays.copyOf(ready, capacity);
+            pending = Arrays.copyOf(pending, capacity);
+        }
+        return slots++;
+    }
+}
@@ -0,0 +1,174 @@
+import java.nio.IntBuffer;
+
+/**
+ * Discrete-event loop shared by every key-driven single-CPU scheduler: SJF, SRTF, both
+ * priority schedulers and their predictive variants, and any custom {@link KeyPolicy}.
+ * An arrival cursor walks the processes in arrival order and a min-heap of (key, rank)
+ * longs holds the ready ones, so every decision costs O(log n) and no key is boxed.
+ *
+ * Non-preemptive policies pick when the CPU frees up and the chosen process runs to
+ * completion. Switching to it is free by default; when switch charging is asked for it
+ * costs the workload's context switch time, and processes arriving during the switch
+ * wait for the next pick. Preemptive policies re-examine
+ * the running process only at the next arrival or at its own completion; every change
+ * of the process on the CPU costs the context switch time, and a process that arrives
+ * during a switch can preempt the process being switched in.
+ */
+public final class PolicyEngine {
+
+    private PolicyEngine() {
+    }
+
+    /** Scheduler running {@code policy} under the given display name; the policy must be stateless. */
+    public static Scheduler scheduler(String name, KeyPolicy policy) {
+        return new Scheduler() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public ScheduleResult schedule(Workload w) {
+                return run(w, policy, name);
+            }
+        };
+    }
+
+    public static ScheduleResult run(Workload w, KeyPolicy policy, String name) {
+        return run(w, policy, name, false);
+    }
+
+    /**
+     * Runs {@code policy}; {@code chargeSwitches} makes a non-preemptive policy pay the
+     * context switch time between two processes. Preemptive policies always pay it.
+     */
+    public static ScheduleResult run(Workload w, KeyPolicy policy, String name, boolean chargeSwitches) {
+        return policy.preemptive() ? runPreemptive(w, policy, name) : runNonPreemptive(w, policy, name, chargeSwitches);
+    }
+
+    // arrival order, ties by the policy's tie-break column and then by pid; heap entries
+    // are ranks in this order, so heap ties resolve the same way
+    private static int[] arrivalOrder(Workload w, KeyPolicy policy) {
+        IntBuffer tie = policy.tieBreak(w);
+        return tie == null ? ProcessSort.byKeys(w.arrivalColumn()) : ProcessSort.byKeys(w.arrivalColumn(), tie);
+    }
+
+    private static ScheduleResult runNonPreemptive(Workload w, KeyPolicy policy, String name, boolean chargeSwitches) {
+        ScheduleRecorder rec = new ScheduleRecorder(w);
+        int c = w.size();
+        IntBuffer at = w.arrivalColumn();
+        IntBuffer bt = w.burstColumn();
+        int[] order = arrivalOrder(w, policy);
+        rec.sorted();
+
+        int cs = w.contextSwitch();
+
+        IndexHeap ready = new IndexHeap(c);
+        int current = 0;
+        int cursor = 0;
+        boolean held = false;       // a process context is loaded on the CPU
+        for (int complete = 0; complete < c; complete++) {
+            if (ready.isEmpty() && at.get(order[cursor]) > current) {
+                rec.idle(current, at.get(order[cursor]));
+                current = at.get(order[cursor]);
+                held = false;
+            }
+            while (cursor < c && at.get(order[cursor]) <= current) {
+                ready.push(policy.readyKey(w, order[cursor]), cursor);
+                cursor++;
+            }
+            int i = order[ready.pop()];
+            if (chargeSwitches && held) {
+                // the choice is made before the switch; arrivals during it wait for the next one
+                rec.contextSwitch(current, current + cs);
+                current += cs;
+            }
+            held = true;
+            int burst = bt.get(i);
+            rec.run(i, current, current + burst);
+            current += burst;
+            rec.finish(i, current);
+            policy.completed(w, i);
+        }
+        return rec.build(name);
+    }
+
+    private static ScheduleResult runPreemptive(Workload w, KeyPolicy policy, String name) {
+        ScheduleRecorder rec = new ScheduleRecorder(w);
+        int c = w.size();
+        IntBuffer at = w.arrivalColumn();
+        IntBuffer bt = w.burstColumn();
+        int[] order = arrivalOrder(w, policy);
+        rec.sorted();
+
+        // by rank in arrival order, filled in as processes arrive
+        int[] rem = new int[c];
+        int[] key = new int[c];
+
+        int cs = w.contextSwitch();
+
+        IndexHeap ready = new IndexHeap(c);
+        int time = 0;
+        int cursor = 0;
+        int complete = 0;
+        int held = -1;         // rank whose context is loaded on the CPU, -1 after idling
+        boolean open = false;  // held is running and its Gantt segment has not been recorded yet
+        int segStart = 0;
+        while (complete != c) {
+            if (ready.isEmpty() && at.get(order[cursor]) > time) {
+                if (open) rec.run(order[held], segStart, time);
+                open = false;
+                held = -1;
+                rec.idle(time, at.get(order[cursor]));
+                time = at.get(order[cursor]);
+            }
+            while (cursor < c && at.get(order[cursor]) <= time) {
+                int r = cursor++;
+                rem[r] = bt.get(order[r]);
+                key[r] = policy.readyKey(w, order[r]);
+                ready.push(key[r], r);
+            }
+
+            int r = ready.pop();
+            if (r != held) {
+                if (open) rec.run(order[held], segStart, time);
+                open = false;
+                if (held != -1) {
+                    rec.contextSwitch(time, time + cs);
+                    time += cs;
+                    while (cursor < c && at.get(order[cursor]) <= time) {
+                        int a = cursor++;
+                        rem[a] = bt.get(order[a]);
+                        key[a] = policy.readyKey(w, order[a]);
+                        ready.push(key[a], a);
+                    }
+                    // something better arrived while switching: r is loaded but preempted at once
+                    if (!ready.isEmpty() && (ready.peekKey() < key[r] || (ready.peekKey() == key[r] && ready.peekIndex() < r))) {
+                        ready.push(key[r], r);
+                        held = r;
+                        continue;
+                    }
+                }
+                held = r;
+                open = true;
+                segStart = time;
+            }
+
+            long nextArrival = cursor < c ? at.get(order[cursor]) : Long.MAX_VALUE;
+            int slice = (int) Math.min(rem[r], nextArrival - time);
+            time += slice;
+            rem[r] -= slice;
+            if (rem[r] == 0) {
+                rec.run(order[r], segStart, time);
+                rec.finish(order[r], time);
+                policy.completed(w, order[r]);
+                complete++;
+                open = false;
+            } else {
+                key[r] = policy.afterRun(key[r], slice);
+                ready.push(key[r], r);
+            }
+        }
+        return rec.build(name);
+    }
+}
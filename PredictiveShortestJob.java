@@ -0,0 +1,110 @@
+import java.io.PrintWriter;
+
+/**
+ * SJF and SRTF for workloads whose burst times are only known once a process has run:
+ * processes are ordered on bursts predicted by a {@link BurstPredictor} (an exponential
+ * average per priority class) instead of their true bursts. Comparing a run with the
+ * run of {@link #oracle()} shows what the missing knowledge costs.
+ */
+public final class PredictiveShortestJob implements Scheduler {
+
+    private final boolean preemptive;
+    private final double alpha;
+    private final int initialGuess;
+
+    /**
+     * @param preemptive   SRTF on predictions if true, SJF otherwise
+     * @param alpha        weight of the latest observed burst, in (0, 1]
+     * @param initialGuess prediction for a class before any of its bursts has been observed
+     */
+    public PredictiveShortestJob(boolean preemptive, double alpha, int initialGuess) {
+        if (!(alpha > 0 && alpha <= 1)) {
+            throw new IllegalArgumentException("smoothing factor must be in (0, 1]: " + alpha);
+        }
+        if (initialGuess < 0) {
+            throw new IllegalArgumentException("initial guess must not be negative: " + initialGuess);
+        }
+        this.preemptive = preemptive;
+        this.alpha = alpha;
+        this.initialGuess = initialGuess;
+    }
+
+    public boolean isPreemptive() {
+        return preemptive;
+    }
+
+    public double alpha() {
+        return alpha;
+    }
+
+    public int initialGuess() {
+        return initialGuess;
+    }
+
+    @Override
+    public String name() {
+        return (preemptive ? "PSRTF" : "PSJF") + "(a=" + alpha + ",g=" + initialGuess + ")";
+    }
+
+    @Override
+    public ScheduleResult schedule(Workload w) {
+        return PolicyEngine.run(w, new Predicted(new BurstPredictor(w, alpha, initialGuess)), name());
+    }
+
+    /**
+     * Keys on the burst predicted when a process becomes ready; under SRTF minus the time
+     * it has run since, never below zero, so a process that outlives its prediction is
+     * treated as about to finish. Each completed burst is fed back into the predictor.
+     */
+    private final class Predicted implements KeyPolicy {
+        private final BurstPredictor predictor;
+
+        Predicted(BurstPredictor predictor) {
+            this.predictor = predictor;
+        }
+
+        @Override
+        public boolean preemptive() {
+            return preemptive;
+        }
+
+        @Override
+        public int readyKey(Workload w, int i) {
+            return predictor.predict(i);
+        }
+
+        @Override
+        public int afterRun(int key, int ran) {
+            return Math.max(0, key - ran);
+        }
+
+        @Override
+        public void completed(Workload w, int i) {
+            predictor.observe(i, w.burst(i));
+        }
+    }
+
+    /** The same policy with true burst times: SRTF or SJF. */
+    public Scheduler oracle() {
+        return preemptive ? new ShortestRemainingTimeFirst() : new ShortestJobFirst();
+    }
+
+    /** Prints how much longer processes waited under {@code predicted} than under {@code oracle}. */
+    public static void printGap(ScheduleResult predicted, ScheduleResult oracle, PrintWriter out) {
+        int n = predicted.workload().size();
+        int longer = 0;
+        long worst = 0;
+        for (int i = 0; i < n; i++) {
+            long extra = predicted.waiting(i) - oracle.waiting(i);
+            if (extra > 0) longer++;
+            worst = Math.max(worst, extra);
+        }
+        double gap = predicted.averageWaitingTime() - oracle.averageWaitingTime();
+        out.println();
+        out.printf(" Average waiting time: %s %.2f   %s (oracle) %.2f   gap %+.2f",
+                predicted.algorithm(), predicted.averageWaitingTime(), oracle.algorithm(), oracle.averageWaitingTime(), gap);
+        if (oracle.averageWaitingTime() > 0) out.printf(" (%+.1f%%)", 100 * gap / oracle.averageWaitingTime());
+        out.println();
+        out.printf(" Processes waiting longer than under the oracle: %d of %d, at most %d time units%n", longer, n, worst);
+    }
+}
@@ -0,0 +1,13 @@
+/** PPS: the ready process with the lowest priority value holds the CPU, preempting on arrival. */
+public final class PreemptivePriority implements Scheduler {
+
+    @Override
+    public String name() {
+        return "PPS";
+    }
+
+    @Override
+    public ScheduleResult schedule(Workload w) {
+        return PolicyEngine.run(w, KeyPolicy.PREEMPTIVE_PRIORITY, name());
+    }
+}
@@ -0,0 +1,109 @@
+import java.nio.IntBuffer;
+
+/**
+ * Sorting helpers for the parallel process columns (at, bt, pr).
+ * Instead of reordering the columns, callers sort one int[] permutation of process
+ * indices and read the columns through it.
+ */
+final class ProcessSort {
+
+    // below this size a stable insertion sort beats radix passes
+    private static final int INSERTION_THRESHOLD = 32;
+
+    private ProcessSort() {
+    }
+
+    static int[] identity(int n) {
+        int[] idx = new int[n];
+        for (int i = 0; i < n; i++) idx[i] = i;
+        return idx;
+    }
+
+    /**
+     * Returns the indices 0..n-1 ordered lexicographically by the given key columns,
+     * e.g. byKeys(at, bt) sorts by arrival, then burst. The sort is stable, so indices
+     * with equal keys stay in index order, which is pid order for workload columns.
+     * Uses stable LSD radix passes, least significant key first.
+     */
+    static int[] byKeys(IntBuffer... keys) {
+        int n = keys[0].limit();
+        int[] idx = identity(n);
+        if (n < INSERTION_THRESHOLD) {
+            insertionSort(idx, keys);
+            return idx;
+        }
+        int[] tmp = new int[n];
+        for (int k = keys.length - 1; k >= 0; k--) {
+            radixSort(idx, tmp, keys[k]);
+        }
+        return idx;
+    }
+
+    /**
+     * Numbers the distinct values of a column 0, 1, ... in ascending order and returns the
+     * number of each index's value, e.g. {5, -1, 5, 7} gives {1, 0, 1, 2}.
+     */
+    static int[] denseRanks(IntBuffer column) {
+        int n = column.limit();
+        int[] order = byKeys(column);
+        int[] rank = new int[n];
+        int r = 0;
+        for (int k = 0; k < n; k++) {
+            if (k > 0 && column.get(order[k]) != column.get(order[k - 1])) r++;
+            rank[order[k]] = r;
+        }
+        return rank;
+    }
+
+    // stable LSD radix sort of idx by key[idx[i]], 8 bits per pass, skipping passes where
+    // every key agrees; byKeys only calls it for inputs above the insertion threshold
+    private static void radixSort(int[] idx, int[] tmp, IntBuffer key) {
+        int n = idx.length;
+        int[] count = new int[257];
+        int[] src = idx;
+        int[] dst = tmp;
+        for (int shift = 0; shift < 32; shift += 8) {
+            java.util.Arrays.fill(count, 0);
+            for (int i = 0; i < n; i++) {
+                count[digit(key.get(src[i]), shift) + 1]++;
+            }
+            // all keys share this byte: the pass would be the identity
+            if (count[digit(key.get(src[0]), shift) + 1] == n) continue;
+            for (int d = 0; d < 256; d++) count[d + 1] += count[d];
+            for (int i = 0; i < n; i++) {
+                int v = src[i];
+                dst[count[digit(key.get(v), shift)]++] = v;
+            }
+            int[] t = src;
+            src = dst;
+            dst = t;
+        }
+        if (src != idx) System.arraycopy(src, 0, idx, 0, n);
+    }
+
+    // flip the sign bit on the top byte so negative keys order before positive ones
+    private static int digit(int k, int shift) {
+        int d = (k >>> shift) & 0xFF;
+        return shift == 24 ? d ^ 0x80 : d;
+    }
+
+    private static int compareKeys(IntBuffer[] keys, int a, int b) {
+        for (IntBuffer k : keys) {
+            int c = Integer.compare(k.get(a), k.get(b));
+            if (c != 0) return c;
+        }
+        return 0;
+    }
+
+    private static void insertionSort(int[] a, IntBuffer[] keys) {
+        for (int i = 1; i < a.length; i++) {
+            int v = a[i];
+            int j = i - 1;
+            while (j >= 0 && compareKeys(keys, a[j], v) > 0) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = v;
+        }
+    }
+}
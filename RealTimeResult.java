@@ -0,0 +1,336 @@
+import java.io.PrintStream;
+import java.util.List;
+
+/**
+ * Outcome of a {@link RealTimeScheduler} run: deadline misses, the lateness of every job
+ * (tardiness of the late ones, slack of the punctual ones), job response times, and the
+ * classic utilization-bound checks for the task set. Per-task columns are indexed like
+ * the workload.
+ *
+ * The bound checks assume what the textbook analyses assume: preemptive scheduling,
+ * periodic tasks released at their offsets, and no switching overhead. They are
+ * sufficient (or exact) conditions on the task set, whereas the miss counts come from
+ * the simulated horizon, so the two are reported side by side rather than combined.
+ */
+public final class RealTimeResult {
+
+    /** Outcome of a schedulability test. */
+    public enum Verdict { SCHEDULABLE, NOT_SCHEDULABLE, INCONCLUSIVE }
+
+    private final String algorithm;
+    private final Workload workload;
+    private final int horizon;
+    private final boolean truncated;
+    private final long[] jobs;
+    private final long[] misses;
+    private final long[] maxTardiness;
+    private final long busy;
+    private final long idle;
+    private final long switching;
+    private final long contextSwitches;
+    private final long makespan;
+    private final LatencyHistogram tardiness;
+    private final LatencyHistogram slack;
+    private final LatencyHistogram response;
+
+    // task-set analysis, over the periodic tasks
+    private final int periodicTasks;
+    private final double utilization;
+    private final double density;
+    private final double hyperbolic;       // product of (U_i + 1)
+    private final boolean deadlinesAtLeastPeriods;   // D >= T for every task: implicit (D = T) or later
+
+    private RealTimeResult(Recorder r, long makespan) {
+        algorithm = r.algorithm;
+        workload = r.workload;
+        horizon = r.horizon;
+        truncated = r.truncated;
+        jobs = r.jobs;
+        misses = r.misses;
+        maxTardiness = r.maxTardiness;
+        busy = r.busy;
+        idle = r.idle;
+        switching = r.switching;
+        contextSwitches = r.contextSwitches;
+        tardiness = r.tardiness;
+        slack = r.slack;
+        response = r.response;
+        this.makespan = makespan;
+
+        int tasks = 0;
+        double u = 0.0;
+        double dens = 0.0;
+        double hyper = 1.0;
+        boolean atLeastPeriods = true;
+        for (int i = 0; i < workload.size(); i++) {
+            int t = workload.period(i);
+            if (t == 0) continue;
+            int d = workload.deadline(i) == 0 ? t : workload.deadline(i);
+            double ui = (double) workload.burst(i) / t;
+            tasks++;
+            u += ui;
+            dens += (double) workload.burst(i) / Math.min(d, t);
+            hyper *= ui + 1.0;
+            if (d < t) atLeastPeriods = false;
+        }
+        periodicTasks = tasks;
+        utilization = u;
+        density = dens;
+        hyperbolic = hyper;
+        deadlinesAtLeastPeriods = atLeastPeriods;
+    }
+
+    /** Collects the statistics of a run as jobs complete. */
+    static final class Recorder {
+        private final String algorithm;
+        private final Workload workload;
+        private final int horizon;
+        private final boolean truncated;
+        private final long[] jobs;
+        private final long[] misses;
+        private final long[] maxTardiness;
+        private final LatencyHistogram tardiness = new LatencyHistogram();
+        private final LatencyHistogram slack = new LatencyHistogram();
+        private final LatencyHistogram response = new LatencyHistogram();
+        private long busy;
+        private long idle;
+        private long switching;
+        private long contextSwitches;
+
+        Recorder(String algorithm, Workload workload, int horizon, boolean truncated) {
+            this.algorithm = algorithm;
+            this.workload = workload;
+            this.horizon = horizon;
+            this.truncated = truncated;
+            int n = workload.size();
+            jobs = new long[n];
+            misses = new long[n];
+            maxTardiness = new long[n];
+        }
+
+        void busy(long time) {
+            busy += time;
+        }
+
+        void idle(long time) {
+            idle += time;
+        }
+
+        void contextSwitch(int cost) {
+            contextSwitches++;
+            switching += cost;
+        }
+
+        /** A job of task i released at {@code release} finished; deadline is absolute, -1 for none. */
+        void complete(int i, long release, long deadline, long finish) {
+            jobs[i]++;
+            response.record(finish - release);
+            if (deadline < 0) return;
+            if (finish > deadline) {
+                misses[i]++;
+                tardiness.record(finish - deadline);
+                maxTardiness[i] = Math.max(maxTardiness[i], finish - deadline);
+            } else {
+                slack.record(deadline - finish);
+            }
+        }
+
+        RealTimeResult build(long makespan) {
+            return new RealTimeResult(this, makespan);
+        }
+    }
+
+    public String algorithm() {
+        return algorithm;
+    }
+
+    public Workload workload() {
+        return workload;
+    }
+
+    /** Periodic jobs were released before this time. */
+    public int horizon() {
+        return horizon;
+    }
+
+    /** True if the hyperperiod exceeded {@link RealTimeScheduler#MAX_HYPERPERIOD} and the horizon was cut short. */
+    public boolean truncated() {
+        return truncated;
+    }
+
+    /** Time at which the last job finished. */
+    public long makespan() {
+        return makespan;
+    }
+
+    public long busyTime() {
+        return busy;
+    }
+
+    public long idleTime() {
+        return idle;
+    }
+
+    public long switchingTime() {
+        return switching;
+    }
+
+    public long contextSwitches() {
+        return contextSwitches;
+    }
+
+    // ---------- jobs ----------
+
+    public long jobs() {
+        return sum(jobs);
+    }
+
+    public long jobs(int task) {
+        return jobs[task];
+    }
+
+    /** Jobs that finished after their absolute deadline. */
+    public long misses() {
+        return sum(misses);
+    }
+
+    public long misses(int task) {
+        return misses[task];
+    }
+
+    /** Jobs that had a deadline. */
+    public long deadlineJobs() {
+        return tardiness.count() + slack.count();
+    }
+
+    /** Misses as a share of the jobs that had a deadline. */
+    public double missRatio() {
+        long d = deadlineJobs();
+        return d == 0 ? 0.0 : (double) misses() / d;
+    }
+
+    public long maxTardiness(int task) {
+        return maxTardiness[task];
+    }
+
+    /** Finish minus deadline of a late job; 0 if no job was late. */
+    public long tardinessPercentile(double percent) {
+        return tardiness.percentile(percent);
+    }
+
+    public long maxTardiness() {
+        return tardiness.max();
+    }
+
+    public double averageTardiness() {
+        return tardiness.mean();
+    }
+
+    /** Deadline minus finish of a punctual job. */
+    public long slackPercentile(double percent) {
+        return slack.percentile(percent);
+    }
+
+    public long minSlack() {
+        return slack.min();
+    }
+
+    /** Finish minus release, over all jobs. */
+    public long responsePercentile(double percent) {
+        return response.percentile(percent);
+    }
+
+    public long maxResponse() {
+        return response.max();
+    }
+
+    private static long sum(long[] a) {
+        long s = 0;
+        for (long v : a) s += v;
+        return s;
+    }
+
+    // ---------- utilization bounds ----------
+
+    public int periodicTasks() {
+        return periodicTasks;
+    }
+
+    /** Sum of C/T over the periodic tasks. */
+    public double utilization() {
+        return utilization;
+    }
+
+    /** Sum of C/min(D, T) over the periodic tasks. */
+    public double density() {
+        return density;
+    }
+
+    /** Liu and Layland's rate-monotonic bound n(2^(1/n) - 1) for the periodic tasks. */
+    public double liuLaylandBound() {
+        int n = periodicTasks;
+        return n == 0 ? 1.0 : n * (Math.pow(2.0, 1.0 / n) - 1.0);
+    }
+
+    /**
+     * EDF test: with deadlines at least the periods, U &lt;= 1 is necessary and
+     * sufficient; with shorter deadlines, density &lt;= 1 is sufficient and U &gt; 1 rules
+     * the set out.
+     */
+    public Verdict edfVerdict() {
+        if (utilization > 1.0) return Verdict.NOT_SCHEDULABLE;
+        if (deadlinesAtLeastPeriods || density <= 1.0) return Verdict.SCHEDULABLE;
+        return Verdict.INCONCLUSIVE;
+    }
+
+    /**
+     * Rate-monotonic test: U &gt; 1 rules the set out; with deadlines at least the periods,
+     * the Liu and Layland bound or the hyperbolic bound (product of U_i + 1 at most 2)
+     * is sufficient. Anything else needs response-time analysis or the simulation.
+     */
+    public Verdict rmVerdict() {
+        if (utilization > 1.0) return Verdict.NOT_SCHEDULABLE;
+        if (deadlinesAtLeastPeriods && (utilization <= liuLaylandBound() || hyperbolic <= 2.0)) return Verdict.SCHEDULABLE;
+        return Verdict.INCONCLUSIVE;
+    }
+
+    // ---------- report ----------
+
+    /** Prints the bound checks of the task set, one row per run, and per-task misses for small sets. */
+    static void printReport(List<RealTimeResult> results, PrintStream out) {
+        if (results.isEmpty()) return;
+        RealTimeResult first = results.get(0);
+        Workload w = first.workload;
+        out.println();
+        if (!w.hasDeadlines() && !w.hasPeriods()) {
+            out.println(" Note: the input has no Deadline or Period column, so every process is a one-shot job");
+            out.println(" without a deadline. Name the columns in the header line to add them.");
+        }
+        out.printf(" Periodic tasks: %d   U = %.4f   density = %.4f   RM bound n(2^(1/n)-1) = %.4f   product(U_i+1) = %.4f%n",
+                first.periodicTasks, first.utilization, first.density, first.liuLaylandBound(), first.hyperbolic);
+        out.printf(" EDF bound check: %s   RM bound check: %s%n", first.edfVerdict(), first.rmVerdict());
+        if (first.truncated) {
+            out.printf(" Hyperperiod exceeds %d: releases stop at %d%n", RealTimeScheduler.MAX_HYPERPERIOD, first.horizon);
+        }
+
+        out.println();
+        out.printf(" %-14s %10s %10s %8s %10s %10s %10s %10s %10s %10s%n",
+                "POLICY", "JOBS", "MISSES", "MISS%", "TARD p50", "TARD p99", "TARD MAX", "MIN SLACK", "RESP p99", "SWITCHES");
+        for (RealTimeResult r : results) {
+            out.printf(" %-14s %10d %10d %8.2f %10d %10d %10d %10d %10d %10d%n", r.algorithm,
+                    r.jobs(), r.misses(), 100.0 * r.missRatio(), r.tardinessPercentile(50), r.tardinessPercentile(99),
+                    r.maxTardiness(), r.minSlack(), r.responsePercentile(99), r.contextSwitches);
+        }
+
+        if (w.size() > 50) return;
+        out.println();
+        out.printf(" %-8s %8s %8s %8s %8s", "TASK", "OFFSET", "C", "T", "D");
+        for (RealTimeResult r : results) out.printf(" %14s", r.algorithm + " MISS");
+        out.println();
+        for (int i = 0; i < w.size(); i++) {
+            out.printf(" P%-7d %8d %8d %8d %8d", w.pid(i), w.arrival(i), w.burst(i), w.period(i), w.deadline(i));
+            for (RealTimeResult r : results) out.printf(" %14s", r.misses[i] + "/" + r.jobs[i]);
+            out.println();
+        }
+    }
+}
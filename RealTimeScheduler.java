@@ -0,0 +1,217 @@
+import java.nio.IntBuffer;
+
+/**
+ * Preemptive real-time scheduling on one CPU, earliest deadline first or rate monotonic.
+ *
+ * Every process is a task with offset = arrival, cost C = burst, period T and relative
+ * deadline D from the workload's optional columns. A task with a period releases a job
+ * at offset + k*T for k = 0, 1, ...; a task without one releases a single job at its
+ * arrival. A job's absolute deadline is its release plus D; D = 0 means D = T for a
+ * periodic task and no deadline at all for a one-shot job.
+ * <ul>
+ *   <li>{@link Policy#EDF}: the pending job with the earliest absolute deadline runs;
+ *       jobs without a deadline run only when nothing with one is pending.</li>
+ *   <li>{@link Policy#RM}: fixed priorities, the shorter the period the higher; one-shot
+ *       jobs run in the background.</li>
+ * </ul>
+ * Ties go to the task listed first. A job that misses its deadline still runs to
+ * completion, so lateness propagates as it would on a real system.
+ *
+ * Periodic releases stop at the horizon, by default the largest offset plus the
+ * hyperperiod (the lcm of the periods, capped at {@link #MAX_HYPERPERIOD}). Jobs are
+ * never materialized: a heap of tasks keyed on their next release time expands them
+ * lazily, and the ready heap holds one entry per task with pending jobs, keyed on its
+ * oldest pending job, so memory is O(tasks) however many jobs the horizon holds.
+ * Switching to a different task costs the workload's context switch time, and a release
+ * during a switch can preempt the task being switched in, as in SRTF.
+ */
+public final class RealTimeScheduler {
+
+    public enum Policy { EDF, RM }
+
+    /** Longest hyperperiod simulated by default; longer ones are cut here and flagged. */
+    public static final int MAX_HYPERPERIOD = 1 << 24;
+
+    private final Policy policy;
+    private final int horizon;
+
+    /**
+     * @param horizon periodic jobs are released before this time; 0 for the largest
+     *                offset plus the hyperperiod
+     */
+    public RealTimeScheduler(Policy policy, int horizon) {
+        if (horizon < 0) {
+            throw new IllegalArgumentException("horizon must not be negative: " + horizon);
+        }
+        this.policy = policy;
+        this.horizon = horizon;
+    }
+
+    public String name() {
+        return horizon == 0 ? policy.name() : policy.name() + "(h=" + horizon + ")";
+    }
+
+    /** Lcm of the periods of the periodic tasks, or -1 if it exceeds {@link #MAX_HYPERPERIOD}; 0 without any. */
+    public static long hyperperiod(Workload w) {
+        long h = 0;
+        for (int i = 0; i < w.size(); i++) {
+            int t = w.period(i);
+            if (t == 0) continue;
+            h = h == 0 ? t : h / gcd(h, t) * t;
+            if (h > MAX_HYPERPERIOD) return -1;
+        }
+        return h;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long r = a % b;
+            a = b;
+            b = r;
+        }
+        return a;
+    }
+
+    public RealTimeResult run(Workload w) {
+        return new Run(w).simulate();
+    }
+
+    /** State of one simulation; per-task columns are indexed like the workload. */
+    private final class Run {
+        private final Workload w;
+        private final int n;
+        private final IntBuffer at;
+        private final IntBuffer bt;
+        private final IntBuffer dl;
+        private final IntBuffer pe;
+        private final int end;              // periodic releases happen before this time
+        private final boolean truncated;
+
+        private final long[] released;      // jobs released so far
+        private final long[] done;          // jobs completed so far; the head job is number done
+        private final int[] rem;            // remaining time of the head job
+        private final IndexHeap releases;   // tasks by next release time
+        private final IndexHeap ready;      // tasks with pending jobs, by policy key
+        private final RealTimeResult.Recorder stats;
+
+        Run(Workload w) {
+            this.w = w;
+            n = w.size();
+            at = w.arrivalColumn();
+            bt = w.burstColumn();
+            dl = w.deadlineColumn();
+            pe = w.periodColumn();
+            if (horizon > 0) {
+                end = horizon;
+                truncated = false;
+            } else {
+                long h = hyperperiod(w);
+                int maxOffset = 0;
+                for (int i = 0; i < n; i++) {
+                    if (pe != null && pe.get(i) > 0) maxOffset = Math.max(maxOffset, at.get(i));
+                }
+                truncated = h < 0;
+                end = (int) Math.min(Integer.MAX_VALUE, (long) maxOffset + (h < 0 ? MAX_HYPERPERIOD : h));
+            }
+            released = new long[n];
+            done = new long[n];
+            rem = new int[n];
+            releases = new IndexHeap(n);
+            ready = new IndexHeap(n);
+            stats = new RealTimeResult.Recorder(name(), w, end, truncated);
+            for (int i = 0; i < n; i++) {
+                if (period(i) == 0 || at.get(i) < end) releases.push(at.get(i), i);
+            }
+        }
+
+        private int period(int i) {
+            return pe == null ? 0 : pe.get(i);
+        }
+
+        // relative deadline, 0 for none
+        private int deadline(int i) {
+            int d = dl == null ? 0 : dl.get(i);
+            return d == 0 ? period(i) : d;
+        }
+
+        private long release(int i, long job) {
+            return at.get(i) + job * period(i);
+        }
+
+        private int key(int i) {
+            if (policy == Policy.RM) {
+                return period(i) == 0 ? Integer.MAX_VALUE : period(i);
+            }
+            int d = deadline(i);
+            return d == 0 ? Integer.MAX_VALUE : (int) Math.min(Integer.MAX_VALUE, release(i, done[i]) + d);
+        }
+
+        // releases every job due by time t
+        private void releaseUpTo(long t) {
+            while (!releases.isEmpty() && releases.peekKey() <= t) {
+                int i = releases.pop();
+                if (released[i]++ == done[i]) {
+                    rem[i] = bt.get(i);
+                    ready.push(key(i), i);
+                }
+                if (period(i) > 0) {
+                    long next = release(i, released[i]);
+                    if (next < end) releases.push((int) next, i);
+                }
+            }
+        }
+
+        RealTimeResult simulate() {
+            int cs = w.contextSwitch();
+            long time = 0;
+            int held = -1;      // task whose context is loaded on the CPU, -1 after idling
+            while (true) {
+                if (ready.isEmpty()) {
+                    if (releases.isEmpty()) break;
+                    if (releases.peekKey() > time) {
+                        stats.idle(releases.peekKey() - time);
+                        time = releases.peekKey();
+                        held = -1;
+                    }
+                }
+                releaseUpTo(time);
+
+                int i = ready.pop();
+                if (i != held) {
+                    if (held != -1) {
+                        stats.contextSwitch(cs);
+                        time += cs;
+                        releaseUpTo(time);
+                        // a more urgent job was released while switching: i is loaded but preempted at once
+                        int k = key(i);
+                        if (!ready.isEmpty() && (ready.peekKey() < k || (ready.peekKey() == k && ready.peekIndex() < i))) {
+                            ready.push(k, i);
+                            held = i;
+                            continue;
+                        }
+                    }
+                    held = i;
+                }
+
+                long nextRelease = releases.isEmpty() ? Long.MAX_VALUE : releases.peekKey();
+                int slice = (int) Math.min(rem[i], nextRelease - time);
+                time += slice;
+                rem[i] -= slice;
+                stats.busy(slice);
+                if (rem[i] == 0) {
+                    long job = done[i]++;
+                    long release = release(i, job);
+                    int d = deadline(i);
+                    stats.complete(i, release, d == 0 ? -1 : release + d, time);
+                    if (released[i] > done[i]) {
+                        rem[i] = bt.get(i);
+                        ready.push(key(i), i);
+                    }
+                } else {
+                    ready.push(key(i), i);
+                }
+            }
+            return stats.build(time);
+        }
+    }
+}
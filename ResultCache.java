@@ -0,0 +1,188 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Memoizes schedule results by workload content and scheduler. The key is the workload's
+ * {@link Workload#fingerprint()} and size plus {@link Scheduler#name()}, which names
+ * the policy together with its parameters (e.g. "RR(q=4)"), so equal traces loaded
+ * twice share entries and results for different parameters never mix.
+ *
+ * Results are kept in memory in least-recently-used order until their estimated size
+ * exceeds the byte budget. With a directory, every computed result is also written
+ * there in the binary result format of {@link WorkloadFile}, and a miss in memory is
+ * looked up on disk before the scheduler runs, so later processes reuse earlier runs.
+ * A result found in memory is the object computed earlier, including its timings and
+ * its reference to the (equal) workload it ran on; one read from disk reports zero
+ * sort and simulation time.
+ */
+public final class ResultCache {
+
+    /** Memory budget used by the interactive and batch modes. */
+    public static final long DEFAULT_MAX_BYTES = 256L << 20;
+
+    private final long maxBytes;
+    private final Path directory;
+    private final LinkedHashMap<Key, ScheduleResult> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long hits;
+    private long diskHits;
+    private long misses;
+
+    /**
+     * @param maxBytes  memory budget for cached results, estimated from their columns
+     * @param directory where results are stored across runs (created on first store),
+     *                  or null for memory only
+     */
+    public ResultCache(long maxBytes, Path directory) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("cache size must not be negative: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+        this.directory = directory;
+    }
+
+    private static final class Key {
+        final long fingerprint;
+        final int size;
+        final String algorithm;
+
+        Key(Workload w, String algorithm) {
+            this.fingerprint = w.fingerprint();
+            this.size = w.size();
+            this.algorithm = algorithm;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return fingerprint == k.fingerprint && size == k.size && algorithm.equals(k.algorithm);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(fingerprint) * 31 + algorithm.hashCode();
+        }
+    }
+
+    /** The cached result of {@code s} on {@code w}, running the scheduler only on a miss. */
+    public ScheduleResult schedule(Scheduler s, Workload w) {
+        Key key = new Key(w, s.name());
+        synchronized (this) {
+            ScheduleResult r = entries.get(key);
+            if (r != null) {
+                hits++;
+                return r;
+            }
+        }
+
+        ScheduleResult r = load(key, w);
+        if (r == null) {
+            r = s.schedule(w);
+            store(key, r);
+        }
+        synchronized (this) {
+            if (entries.put(key, r) == null) bytes += estimate(r);
+            evict();
+        }
+        return r;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    /** Results served from memory. */
+    public synchronized long hits() {
+        return hits;
+    }
+
+    /** Results read back from the directory. */
+    public synchronized long diskHits() {
+        return diskHits;
+    }
+
+    /** Results that had to be computed. */
+    public synchronized long misses() {
+        return misses;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // ---------- memory ----------
+
+    private void evict() {
+        Iterator<Map.Entry<Key, ScheduleResult>> it = entries.entrySet().iterator();
+        while (bytes > maxBytes && it.hasNext()) {
+            bytes -= estimate(it.next().getValue());
+            it.remove();
+        }
+    }
+
+    // finish and first-dispatch columns plus three ints per Gantt segment
+    private static long estimate(ScheduleResult r) {
+        return 8L * r.workload().size() + 12L * r.segmentCount();
+    }
+
+    // ---------- disk ----------
+
+    private ScheduleResult load(Key key, Workload w) {
+        if (directory != null) {
+            Path file = file(key);
+            if (Files.isRegularFile(file)) {
+                try {
+                    ScheduleResult r = WorkloadFile.readResult(file, w);
+                    if (r.algorithm().equals(key.algorithm)) {
+                        synchronized (this) {
+                            diskHits++;
+                        }
+                        return r;
+                    }
+                } catch (IOException e) {
+                    // unreadable or stale entry: recompute and overwrite it
+                }
+            }
+        }
+        synchronized (this) {
+            misses++;
+        }
+        return null;
+    }
+
+    private void store(Key key, ScheduleResult r) {
+        if (directory == null) return;
+        Path file = file(key);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp" + Thread.currentThread().getId());
+        try {
+            Files.createDirectories(directory);
+            WorkloadFile.writeResult(r, tmp);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // the cache is best effort: the result is still returned and kept in memory
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException ignored) {
+                // nothing left to clean up
+            }
+        }
+    }
+
+    // one file per workload and scheduler: <fingerprint>-<size>-<name with unsafe characters replaced>.sres
+    private Path file(Key key) {
+        StringBuilder name = new StringBuilder(64);
+        name.append(String.format("%016x-%d-", key.fingerprint, key.size));
+        for (int i = 0; i < key.algorithm.length(); i++) {
+            char ch = key.algorithm.charAt(i);
+            name.append(Character.isLetterOrDigit(ch) || ch == '.' || ch == '=' ? ch : '_');
+        }
+        return directory.resolve(name.append(".sres").toString());
+    }
+}
@@ -0,0 +1,19 @@
+/**
+ * Output format for schedule results. A renderer writes into one buffered writer owned by
+ * the caller: {@link #begin} once, {@link #render} per result, then {@link #end}.
+ * Renderers never flush; the caller flushes when output must become visible.
+ */
+interface ResultRenderer {
+
+    default void begin(Workload w) {
+    }
+
+    /**
+     * Writes one result. When {@code metrics} is given, the renderer stores its own render
+     * time in it before writing the metrics, which therefore come last.
+     */
+    void render(ScheduleResult r, ScheduleMetrics metrics);
+
+    default void end() {
+    }
+}
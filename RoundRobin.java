@@ -0,0 +1,80 @@
+import java.nio.IntBuffer;
+
+/**
+ * Round Robin with a fixed time quantum. Processes enter a FIFO ready queue in arrival
+ * order; the clock jumps from one dispatch (or arrival, when idle) to the next, so the
+ * cost is per quantum, not per time unit. Switching to a different process costs the
+ * workload's context switch time; a process that keeps the CPU for another quantum does not.
+ */
+public final class RoundRobin implements Scheduler {
+
+    private final int quantum;
+
+    public RoundRobin(int quantum) {
+        if (quantum <= 0) {
+            throw new IllegalArgumentException("quantum time must be positive: " + quantum);
+        }
+        this.quantum = quantum;
+    }
+
+    public int quantum() {
+        return quantum;
+    }
+
+    @Override
+    public String name() {
+        return "RR(q=" + quantum + ")";
+    }
+
+    @Override
+    public ScheduleResult schedule(Workload w) {
+        ScheduleRecorder rec = new ScheduleRecorder(w);
+        int count = w.size();
+        IntBuffer at = w.arrivalColumn();
+        ScratchColumn rt = w.burstScratch();
+        int[] order = ProcessSort.byKeys(at);
+        rec.sorted();
+
+        int cs = w.contextSwitch();
+
+        IntQueue ready = new IntQueue(count);
+        int cursor = 0;
+        int com = 0;
+        int ct = 0;
+        int held = -1;      // process whose context is loaded on the CPU, -1 after idling
+        while (com != count) {
+            if (ready.isEmpty() && at.get(order[cursor]) > ct) {
+                rec.idle(ct, at.get(order[cursor]));
+                ct = at.get(order[cursor]);
+                held = -1;
+            }
+            while (cursor < count && at.get(order[cursor]) <= ct) {
+                ready.add(order[cursor++]);
+            }
+
+            int i = ready.poll();
+            if (held != -1 && held != i) {
+                rec.contextSwitch(ct, ct + cs);
+                ct += cs;
+            }
+            held = i;
+            int left = rt.get(i);
+            int slice = Math.min(left, quantum);
+            rec.run(i, ct, ct + slice);
+            ct += slice;
+            rt.set(i, left - slice);
+
+            // arrivals during this quantum queue up ahead of the preempted process
+            while (cursor < count && at.get(order[cursor]) <= ct) {
+                ready.add(order[cursor++]);
+            }
+            if (left > slice) {
+                ready.add(i);
+            } else {
+                com++;
+                rec.finish(i, ct);
+            }
+        }
+        return rec.build(name());
+    }
+}
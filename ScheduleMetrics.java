@@ -0,0 +1,215 @@
+import java.io.PrintWriter;
+import java.nio.IntBuffer;
+
+/**
+ * Run statistics beyond the averages of {@link ScheduleResult}: decision and preemption
+ * counts, idle and switching time, the time-weighted ready-queue depth, percentiles of
+ * waiting, response and turnaround time and of slowdown, Jain's fairness index, and
+ * wall-clock time per phase.
+ *
+ * First dispatches, preemptions and idle and switching time are summarized by
+ * {@link ScheduleRecorder} as the schedule is recorded; the per-process distributions
+ * come from one pass over the processes here, and only the queue depth walks the timeline.
+ *
+ * Slowdown is turnaround divided by burst (a zero burst counts as 1), so 1 means the
+ * process never waited. The fairness index is Jain's (sum x)^2 / (n * sum x^2) over
+ * x = 1 / slowdown, the share of its time in the system that a process spent running:
+ * 1 when every process was slowed down equally, approaching 1/n when a few got all the
+ * service. Its sums are Kahan-compensated so the index stays accurate for any n.
+ */
+public final class ScheduleMetrics {
+
+    /** Phases of a run whose wall-clock time is reported. */
+    public enum Phase { PARSE, SORT, SIMULATE, RENDER }
+
+    private final String algorithm;
+    private final int decisions;
+    private final int preemptions;
+    private final int contextSwitches;
+    private final long idleTime;
+    private final long switchTime;
+    private final LatencyHistogram queueDepth = new LatencyHistogram();
+    private final LatencyHistogram waiting = new LatencyHistogram();
+    private final LatencyHistogram response = new LatencyHistogram();
+    private final LatencyHistogram turnaround = new LatencyHistogram();
+    private final LatencyHistogram slowdown = new LatencyHistogram();     // in hundredths
+    private final double averageSlowdown;
+    private final double fairness;
+    private final long[] phaseNanos = new long[Phase.values().length];
+
+    private ScheduleMetrics(ScheduleResult r) {
+        Workload w = r.workload();
+        int n = w.size();
+        algorithm = r.algorithm();
+        decisions = r.decisions();
+        contextSwitches = r.contextSwitches();
+        preemptions = r.preemptions();
+        idleTime = r.idleTime();
+        switchTime = r.switchTime();
+        phaseNanos[Phase.SORT.ordinal()] = r.sortNanos();
+        phaseNanos[Phase.SIMULATE.ordinal()] = r.simulateNanos();
+
+        KahanSum slowdownSum = new KahanSum();
+        KahanSum shareSum = new KahanSum();
+        KahanSum shareSquares = new KahanSum();
+        for (int i = 0; i < n; i++) {
+            long tat = r.turnaround(i);
+            waiting.record(r.waiting(i));
+            turnaround.record(tat);
+            response.record(r.response(i));
+            int burst = Math.max(1, w.burst(i));
+            double sd = Math.max(1.0, (double) tat / burst);
+            slowdown.record(Math.round(100 * sd));
+            slowdownSum.add(sd);
+            shareSum.add(1 / sd);
+            shareSquares.add(1 / (sd * sd));
+        }
+        averageSlowdown = n == 0 ? 0.0 : slowdownSum.value() / n;
+        fairness = n == 0 ? 1.0 : shareSum.value() * shareSum.value() / (n * shareSquares.value());
+        recordQueueDepth(r);
+    }
+
+    /** Derives the metrics of a finished run; parse and render time are added by the caller. */
+    public static ScheduleMetrics of(ScheduleResult r) {
+        return new ScheduleMetrics(r);
+    }
+
+    // Ready processes over time: arrived, not finished, not on the CPU. Each constant
+    // stretch between two events is recorded once, weighted by its length.
+    private void recordQueueDepth(ScheduleResult r) {
+        Workload w = r.workload();
+        int n = w.size();
+        int[] arrivals = sorted(w.arrivalColumn());
+        int[] finishes = sorted(IntBuffer.wrap(r.finishTimes()));
+        int a = 0;
+        int f = 0;
+        for (int k = 0; k < r.segmentCount(); k++) {
+            int end = r.segmentEnd(k);
+            int running = r.segmentProcess(k) >= 0 ? 1 : 0;
+            int t = r.segmentStart(k);
+            while (t < end) {
+                while (a < n && arrivals[a] <= t) a++;
+                while (f < n && finishes[f] <= t) f++;
+                int next = end;
+                if (a < n && arrivals[a] < next) next = arrivals[a];
+                if (f < n && finishes[f] < next) next = finishes[f];
+                queueDepth.record(a - f - running, (long) next - t);
+                t = next;
+            }
+        }
+    }
+
+    private static int[] sorted(IntBuffer column) {
+        int[] order = ProcessSort.byKeys(column);
+        int[] out = new int[order.length];
+        for (int i = 0; i < order.length; i++) out[i] = column.get(order[i]);
+        return out;
+    }
+
+    public String algorithm() {
+        return algorithm;
+    }
+
+    /** Dispatches: times a process was given the CPU, including another RR quantum for the same process. */
+    public int decisions() {
+        return decisions;
+    }
+
+    /** Times a process left the CPU before it had finished. */
+    public int preemptions() {
+        return preemptions;
+    }
+
+    public int contextSwitches() {
+        return contextSwitches;
+    }
+
+    public long idleTime() {
+        return idleTime;
+    }
+
+    public long switchTime() {
+        return switchTime;
+    }
+
+    public long phaseNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    public void setPhaseNanos(Phase phase, long nanos) {
+        phaseNanos[phase.ordinal()] = nanos;
+    }
+
+    public long waitingPercentile(double percent) {
+        return waiting.percentile(percent);
+    }
+
+    public long responsePercentile(double percent) {
+        return response.percentile(percent);
+    }
+
+    public long turnaroundPercentile(double percent) {
+        return turnaround.percentile(percent);
+    }
+
+    /** Ready-queue length, weighted by how long the queue had that length. */
+    public long queueDepthPercentile(double percent) {
+        return queueDepth.percentile(percent);
+    }
+
+    public long maxWaiting() {
+        return waiting.max();
+    }
+
+    public long maxResponse() {
+        return response.max();
+    }
+
+    public long maxTurnaround() {
+        return turnaround.max();
+    }
+
+    public double averageResponseTime() {
+        return response.mean();
+    }
+
+    /** Slowdown percentile, to within 1/128 and 0.01; equal slowdowns report their exact value. */
+    public double slowdownPercentile(double percent) {
+        return slowdown.lowPercentile(percent) / 100.0;
+    }
+
+    public double maxSlowdown() {
+        return slowdown.max() / 100.0;
+    }
+
+    public double averageSlowdown() {
+        return averageSlowdown;
+    }
+
+    /** Jain's fairness index over the processes' shares of running time, between 1/n and 1. */
+    public double fairnessIndex() {
+        return fairness;
+    }
+
+    public void print(PrintWriter out) {
+        out.println();
+        out.printf(" Decisions: %d   Preemptions: %d   Context switches: %d   Idle time: %d   Switch time: %d%n",
+                decisions, preemptions, contextSwitches, idleTime, switchTime);
+        out.printf(" %-12s %8s %8s %8s %8s %10s%n", "", "p50", "p95", "p99", "max", "mean");
+        printRow(out, "Waiting", waiting);
+        printRow(out, "Response", response);
+        printRow(out, "Turnaround", turnaround);
+        out.printf(" %-12s %8.2f %8.2f %8.2f %8.2f %10.2f%n", "Slowdown", slowdownPercentile(50),
+                slowdownPercentile(95), slowdownPercentile(99), maxSlowdown(), averageSlowdown);
+        printRow(out, "Queue depth", queueDepth);
+        out.printf(" Fairness (Jain's index of running share): %.4f%n", fairness);
+        out.printf(" Phases (ms): parse %.3f  sort %.3f  simulate %.3f  render %.3f%n",
+                phaseNanos[Phase.PARSE.ordinal()] / 1e6, phaseNanos[Phase.SORT.ordinal()] / 1e6,
+                phaseNanos[Phase.SIMULATE.ordinal()] / 1e6, phaseNanos[Phase.RENDER.ordinal()] / 1e6);
+    }
+
+    private static void printRow(PrintWriter out, String label, LatencyHistogram h) {
+        out.printf(" %-12s %8d %8d %8d %8d %10.2f%n", label,
+                h.percentile(50), h.percentile(95), h.percentile(99), h.max(), h.mean());
+    }
+}
@@ -0,0 +1,150 @@
+import java.util.Arrays;
+
+/**
+ * Collects the decisions of one scheduler run: Gantt segments and finish times.
+ * Segments go to a {@link Timeline} rather than one object per dispatch.
+ *
+ * The segment stream is also summarized as it arrives: the first dispatch of every
+ * process, preemptions, and idle and switching time. A process that runs in k separate
+ * segments was preempted k - 1 times, so preemptions are the segments that did not merge
+ * into the previous one minus the processes that ran. {@link ScheduleMetrics} takes these
+ * from the result, so response times never need a second pass over the timeline.
+ *
+ * Schedulers create the recorder before sorting the workload and call {@link #sorted()}
+ * once the order is known, so the result reports sort and simulation time separately.
+ *
+ * Under {@link EventLog#trace} the recorder also turns these calls into trace events:
+ * arrivals are emitted from the workload as the clock passes them, and a run that ends
+ * without a completion becomes a preemption once the next call shows that the process
+ * did not simply continue.
+ *
+ * Times are ints. A schedule whose clock would pass {@link Integer#MAX_VALUE} wraps
+ * around in the scheduler's arithmetic; the first segment ending before it starts gives
+ * that away, and the run fails with an {@link ArithmeticException} instead of reporting
+ * negative finish times.
+ */
+final class ScheduleRecorder {
+
+    /** Process index used for segments in which the CPU is idle. */
+    static final int IDLE = -1;
+    /** Process index used for segments spent switching context between two processes. */
+    static final int SWITCH = -2;
+
+    private final Workload workload;
+    private final int[] finish;
+    private final Timeline timeline;
+    private final int[] firstRun;   // -1 until the process is first dispatched
+    private int contextSwitches;
+    private int decisions;
+    private int runSegments;        // process segments in the timeline
+    private int started;            // processes dispatched at least once
+    private long idleTime;
+    private long switchTime;
+    private final long created;
+    private long sorted;
+
+    // event trace, all unused when log is null
+    private final EventLog log;
+    private int[] arrivals;         // arrival order, sorted when the first event is written
+    private int nextArrival;
+    private int last = IDLE;        // process whose context is loaded, IDLE after idling
+    private int lastEnd;
+    private boolean lastOpen;       // last ran until lastEnd and has not completed or been preempted yet
+
+    ScheduleRecorder(Workload workload) {
+        this.workload = workload;
+        this.finish = new int[workload.size()];
+        this.firstRun = new int[workload.size()];
+        Arrays.fill(firstRun, -1);
+        this.timeline = Timeline.forSegments(workload.size());
+        this.log = EventLog.claim();
+        this.created = System.nanoTime();
+    }
+
+    /** Marks the end of the sorting phase. */
+    void sorted() {
+        sorted = System.nanoTime();
+    }
+
+    /** Process {@code i} held the CPU during [start, end). */
+    void run(int i, int start, int end) {
+        checkTime(start, end);
+        decisions++;
+        if (timeline.add(i, start, end)) runSegments++;
+        if (firstRun[i] < 0) {
+            firstRun[i] = start;
+            started++;
+        }
+        if (log != null) {
+            if (!lastOpen || last != i || lastEnd != start) {
+                preemptLast();
+                emit(EventLog.DISPATCH, start, i, 0);
+            }
+            last = i;
+            lastEnd = end;
+            lastOpen = true;
+        }
+    }
+
+    void idle(int start, int end) {
+        timeline.add(IDLE, start, end);
+        idleTime += end - start;
+        if (log != null) {
+            preemptLast();
+            emit(EventLog.IDLE, start, IDLE, end);
+            last = IDLE;
+        }
+    }
+
+    /** The CPU switched from one process to another during [start, end); end == start when switching is free. */
+    void contextSwitch(int start, int end) {
+        checkTime(start, end);
+        contextSwitches++;
+        if (end > start) timeline.add(SWITCH, start, end);
+        switchTime += end - start;
+        if (log != null) {
+            preemptLast();
+            emit(EventLog.SWITCH, start, last, end);
+        }
+    }
+
+    void finish(int i, int time) {
+        finish[i] = time;
+        if (log != null) {
+            emit(EventLog.COMPLETE, time, i, 0);
+            if (last == i) lastOpen = false;
+        }
+    }
+
+    private static void checkTime(int start, int end) {
+        if (end < start) {
+            throw new ArithmeticException("schedule runs past time " + Integer.MAX_VALUE);
+        }
+    }
+
+    // ---------- event trace ----------
+
+    private void preemptLast() {
+        if (lastOpen) {
+            emit(EventLog.PREEMPT, lastEnd, last, 0);
+            lastOpen = false;
+        }
+    }
+
+    // arrivals up to the event's time go first, so the trace stays in time order
+    private void emit(int type, int time, int process, int arg) {
+        if (arrivals == null) arrivals = ProcessSort.byKeys(workload.arrivalColumn());
+        while (nextArrival < arrivals.length && workload.arrival(arrivals[nextArrival]) <= time) {
+            int a = arrivals[nextArrival++];
+            log.append(EventLog.ARRIVAL, workload.arrival(a), a, workload.burst(a));
+        }
+        log.append(type, time, process, arg);
+    }
+
+    ScheduleResult build(String algorithm) {
+        long built = System.nanoTime();
+        if (sorted == 0) sorted = created;
+        return new ScheduleResult(algorithm, workload, finish, firstRun, contextSwitches, timeline,
+                decisions, runSegments - started, idleTime, switchTime, sorted - created, built - sorted);
+    }
+}
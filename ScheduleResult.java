@@ -0,0 +1,156 @@
+/**
+ * Outcome of running one {@link Scheduler} on a {@link Workload}.
+ * Per-process columns are indexed like the workload (process i is workload index i);
+ * Gantt segments are in time order, with process index -1 marking idle CPU time and
+ * -2 marking time spent switching context.
+ *
+ * Only finish and first-dispatch times are stored; waiting, turnaround and response
+ * times follow from them and the workload on demand, and the aggregates come from one
+ * {@link ProcessStats} pass.
+ */
+public final class ScheduleResult {
+
+    private final String algorithm;
+    private final Workload workload;
+    private final int[] finish;
+    private final int[] firstRun;
+    private final Timeline timeline;
+    private final ProcessStats stats;
+    private final int contextSwitches;
+    private final int decisions;
+    private final int preemptions;
+    private final long idleTime;
+    private final long switchTime;
+    private final long sortNanos;
+    private final long simulateNanos;
+
+    ScheduleResult(String algorithm, Workload workload, int[] finish, int[] firstRun, int contextSwitches,
+                   Timeline timeline, int decisions, int preemptions, long idleTime, long switchTime,
+                   long sortNanos, long simulateNanos) {
+        this.algorithm = algorithm;
+        this.workload = workload;
+        this.finish = finish;
+        this.firstRun = firstRun;
+        this.timeline = timeline;
+        this.contextSwitches = contextSwitches;
+        this.decisions = decisions;
+        this.preemptions = preemptions;
+        this.idleTime = idleTime;
+        this.switchTime = switchTime;
+        this.sortNanos = sortNanos;
+        this.simulateNanos = simulateNanos;
+        this.stats = ProcessStats.of(workload, finish);
+    }
+
+    public String algorithm() {
+        return algorithm;
+    }
+
+    public Workload workload() {
+        return workload;
+    }
+
+    public int finish(int i) {
+        return finish[i];
+    }
+
+    /** Long, like the other per-process times: with negative arrivals it can pass Integer.MAX_VALUE. */
+    public long waiting(int i) {
+        return turnaround(i) - workload.burst(i);
+    }
+
+    public long turnaround(int i) {
+        return (long) finish[i] - workload.arrival(i);
+    }
+
+    /** Time from arrival to the first dispatch; a process that never ran (zero burst) counts until it finished. */
+    public long response(int i) {
+        return (long) (firstRun[i] >= 0 ? firstRun[i] : finish[i]) - workload.arrival(i);
+    }
+
+    /** Copies of the per-process columns. */
+    public int[] finishTimes() {
+        return finish.clone();
+    }
+
+    public long[] waitingTimes() {
+        long[] out = turnaroundTimes();
+        for (int i = 0; i < out.length; i++) out[i] -= workload.burst(i);
+        return out;
+    }
+
+    public long[] turnaroundTimes() {
+        long[] out = new long[finish.length];
+        for (int i = 0; i < out.length; i++) out[i] = turnaround(i);
+        return out;
+    }
+
+    /** Number of Gantt segments; consecutive runs of the same process count once. */
+    public int segmentCount() {
+        return timeline.size();
+    }
+
+    /** Workload index that ran in segment k, -1 if the CPU was idle, -2 while switching. */
+    public int segmentProcess(int k) {
+        return timeline.process(k);
+    }
+
+    public int segmentStart(int k) {
+        return timeline.start(k);
+    }
+
+    public int segmentEnd(int k) {
+        return timeline.end(k);
+    }
+
+    public double averageWaitingTime() {
+        return stats.averageWaiting();
+    }
+
+    public double averageTurnaroundTime() {
+        return stats.averageTurnaround();
+    }
+
+    /** Time at which the last process finished. */
+    public int makespan() {
+        return stats.makespan();
+    }
+
+    /** Number of times the CPU went straight from one process to a different one. */
+    public int contextSwitches() {
+        return contextSwitches;
+    }
+
+    /** Times a process was dispatched to the CPU. */
+    public int decisions() {
+        return decisions;
+    }
+
+    /** Times a process left the CPU before it had finished. */
+    public int preemptions() {
+        return preemptions;
+    }
+
+    public long idleTime() {
+        return idleTime;
+    }
+
+    public long switchTime() {
+        return switchTime;
+    }
+
+    /** Wall-clock time the scheduler spent ordering the workload. */
+    public long sortNanos() {
+        return sortNanos;
+    }
+
+    /** Wall-clock time of the scheduling loop itself. */
+    public long simulateNanos() {
+        return simulateNanos;
+    }
+
+    /** Share of [0, makespan) spent running processes, excluding idle and switching time. */
+    public double cpuUtilization() {
+        return stats.makespan() == 0 ? 0.0 : (double) stats.busyTime() / stats.makespan();
+    }
+}
@@ -0,0 +1,11 @@
+/**
+ * A CPU scheduling policy. Implementations do no I/O and never modify the workload;
+ * everything they decide is returned in the {@link ScheduleResult}.
+ */
+public interface Scheduler {
+
+    /** Short display name, e.g. "SJF" or "RR(q=4)". */
+    String name();
+
+    ScheduleResult schedule(Workload workload);
+}
@@ -0,0 +1,201 @@
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Throughput and allocation benchmark for the six schedulers over synthetic workloads.
+ *
+ * <pre>
+ * java -Xmx8g SchedulingBenchmark [--sizes 10,1000,100000,1000000,10000000]
+ *     [--shapes uniform,bursty,heavytail,zero] [--algorithms FCFS,SJF,SRTF,NPPS,PPS,RR]
+ *     [--quantum 4] [--warmup 3] [--iterations 5] [--seed 42] [--backing heap|offheap]
+ * </pre>
+ *
+ * Every cell runs warmup iterations first, then reports the mean over the measured ones:
+ * processes scheduled per second, bytes allocated per run, and the allocation rate.
+ * Allocation is read from the per-thread allocation counter, the same source the JMH GC
+ * profiler uses, so the numbers are comparable to gc.alloc.rate.norm. With
+ * {@code --backing offheap} the workload columns are held in direct buffers.
+ *
+ * The README shows how to run the same cells as a JMH benchmark over {@link #synthetic},
+ * with {@code -prof gc}, for a direct comparison.
+ */
+public final class SchedulingBenchmark {
+
+    private static final String[] ALL_SHAPES = {"uniform", "bursty", "heavytail", "zero"};
+    private static final String[] ALL_ALGORITHMS = {"FCFS", "SJF", "SRTF", "NPPS", "PPS", "RR"};
+
+    private static long blackhole;
+
+    public static void main(String[] args) {
+        int[] sizes = {10, 1_000, 100_000, 1_000_000, 10_000_000};
+        String[] shapes = ALL_SHAPES;
+        String[] algorithms = ALL_ALGORITHMS;
+        int quantum = 4;
+        int warmup = 3;
+        int iterations = 5;
+        long seed = 42;
+        boolean offHeap = false;
+
+        for (int a = 0; a < args.length; a++) {
+            String flag = args[a];
+            if (a + 1 >= args.length) {
+                System.err.println("Missing value for " + flag);
+                return;
+            }
+            String value = args[++a];
+            try {
+                switch (flag) {
+                    case "--sizes":
+                        String[] parts = value.split(",");
+                        sizes = new int[parts.length];
+                        for (int i = 0; i < parts.length; i++) sizes[i] = Integer.parseInt(parts[i].trim());
+                        break;
+                    case "--shapes":
+                        shapes = value.split(",");
+                        break;
+                    case "--algorithms":
+                        algorithms = value.split(",");
+                        break;
+                    case "--quantum":
+                        quantum = Integer.parseInt(value);
+                        break;
+                    case "--warmup":
+                        warmup = Integer.parseInt(value);
+                        break;
+                    case "--iterations":
+                        iterations = Integer.parseInt(value);
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    case "--backing":
+                        if (!value.equals("heap") && !value.equals("offheap")) {
+                            System.err.println("Unknown backing " + value + "; expected heap or offheap");
+                            return;
+                        }
+                        offHeap = value.equals("offheap");
+                        break;
+                    default:
+                        System.err.println("Unknown option " + flag);
+                        return;
+                }
+            } catch (NumberFormatException e) {
+                System.err.println("Invalid value for " + flag + ": " + value);
+                return;
+            }
+        }
+        for (int n : sizes) {
+            if (n < 0) {
+                System.err.println("Invalid value for --sizes: " + n);
+                return;
+            }
+        }
+        for (int i = 0; i < shapes.length; i++) {
+            shapes[i] = shapes[i].trim();
+            if (!Arrays.asList(ALL_SHAPES).contains(shapes[i])) {
+                System.err.println("Unknown shape " + shapes[i] + "; expected one of " + String.join(",", ALL_SHAPES));
+                return;
+            }
+        }
+        SchedulingPolicy[] policies = new SchedulingPolicy[algorithms.length];
+        for (int i = 0; i < algorithms.length; i++) {
+            try {
+                policies[i] = SchedulingPolicy.parse(algorithms[i]);
+            } catch (IllegalArgumentException e) {
+                System.err.println("Unknown algorithm " + algorithms[i].trim() + "; expected one of "
+                        + String.join(",", ALL_ALGORITHMS));
+                return;
+            }
+        }
+        if (quantum <= 0) {
+            System.err.println("Invalid value for --quantum: " + quantum);
+            return;
+        }
+        if (warmup < 0) {
+            System.err.println("Invalid value for --warmup: " + warmup);
+            return;
+        }
+        if (iterations <= 0) {
+            System.err.println("Invalid value for --iterations: " + iterations);
+            return;
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().getId();
+
+        System.out.printf("%-8s %-10s %10s %16s %16s %14s%n",
+                "ALG", "SHAPE", "N", "PROC/S", "ALLOC B/OP", "ALLOC MB/S");
+        for (String shape : shapes) {
+            for (int n : sizes) {
+                Workload w = synthetic(shape, n, seed);
+                if (offHeap) w = w.toOffHeap();
+                for (SchedulingPolicy policy : policies) {
+                    Scheduler s = policy.scheduler(quantum);
+                    for (int i = 0; i < warmup; i++) blackhole += s.schedule(w).makespan();
+
+                    long nanos = 0;
+                    long bytes = 0;
+                    for (int i = 0; i < iterations; i++) {
+                        long b0 = threads.getThreadAllocatedBytes(tid);
+                        long t0 = System.nanoTime();
+                        blackhole += s.schedule(w).makespan();
+                        nanos += System.nanoTime() - t0;
+                        bytes += threads.getThreadAllocatedBytes(tid) - b0;
+                    }
+                    double seconds = nanos / 1e9;
+                    System.out.printf("%-8s %-10s %10d %16.0f %16d %14.1f%n",
+                            s.name(), shape, n, (double) n * iterations / seconds,
+                            bytes / iterations, bytes / seconds / (1 << 20));
+                }
+            }
+        }
+        if (blackhole == 42) System.out.println();
+    }
+
+    /**
+     * Arrival patterns: uniform (steady arrivals, about one per mean burst), bursty (clumps of
+     * arrivals separated by gaps), heavytail (Pareto-distributed gaps with the same mean as
+     * uniform, so mostly quick successions and now and then a very long lull) and zero
+     * (everything arrives at time 0). Bursts are uniform in every shape.
+     */
+    static Workload synthetic(String shape, int n, long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed ^ n);
+        int[] at = new int[n];
+        int[] bt = new int[n];
+        int[] pr = new int[n];
+        int t = 0;
+        for (int i = 0; i < n; i++) {
+            switch (shape) {
+                case "uniform":
+                    t += rnd.nextInt(0, 20);
+                    bt[i] = rnd.nextInt(1, 20);
+                    break;
+                case "bursty":
+                    // a burst of roughly 50 arrivals, then a long quiet gap
+                    if (rnd.nextInt(50) == 0) t += rnd.nextInt(500, 2_000);
+                    else t += rnd.nextInt(0, 2);
+                    bt[i] = rnd.nextInt(1, 20);
+                    break;
+                case "heavytail":
+                    // Pareto (Lomax) gaps with alpha = 1.5 and mean 10, capped so the clock stays inside int range
+                    double u = 1.0 - rnd.nextDouble();
+                    t += (int) Math.min(100_000, Math.floor(5.0 * (Math.pow(u, -1 / 1.5) - 1)));
+                    bt[i] = rnd.nextInt(1, 20);
+                    break;
+                case "zero":
+                    bt[i] = rnd.nextInt(1, 20);
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown shape " + shape);
+            }
+            at[i] = t;
+            pr[i] = rnd.nextInt(0, 32);
+        }
+        return Workload.of(at, bt, pr, 0);
+    }
+
+    private SchedulingBenchmark() {
+    }
+}
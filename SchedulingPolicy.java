@@ -0,0 +1,45 @@
+import java.util.Locale;
+
+/**
+ * The six policies of the interactive menu, for code that needs to name a policy
+ * without holding a {@link Scheduler} instance (online mode, multi-core simulation,
+ * command-line selection).
+ */
+public enum SchedulingPolicy {
+    FCFS(false),
+    SJF(false),
+    SRTF(true),
+    NPPS(false),
+    PPS(true),
+    RR(true);
+
+    /** Whether a running process can lose the CPU before it finishes. */
+    final boolean preemptive;
+
+    SchedulingPolicy(boolean preemptive) {
+        this.preemptive = preemptive;
+    }
+
+    /** Single-CPU scheduler for this policy; {@code quantum} is only used by RR. */
+    Scheduler scheduler(int quantum) {
+        switch (this) {
+            case FCFS:
+                return new FirstComeFirstServed();
+            case SJF:
+                return new ShortestJobFirst();
+            case SRTF:
+                return new ShortestRemainingTimeFirst();
+            case NPPS:
+                return new NonPreemptivePriority();
+            case PPS:
+                return new PreemptivePriority();
+            default:
+                return new RoundRobin(quantum);
+        }
+    }
+
+    /** Case-insensitive lookup; throws IllegalArgumentException for unknown names. */
+    static SchedulingPolicy parse(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,42 @@
+import java.nio.IntBuffer;
+
+/**
+ * Writable per-run copy of a read-only workload column, copied on write: reads fall
+ * through to the source until an element is written, at which point the block of
+ * {@code 1 << BLOCK_BITS} elements around it is copied onto the heap. A run that only
+ * modifies the processes it has admitted so far holds only their blocks, and the
+ * source column is never duplicated up front.
+ */
+final class ScratchColumn {
+
+    private static final int BLOCK_BITS = 12;
+    private static final int BLOCK = 1 << BLOCK_BITS;
+    private static final int MASK = BLOCK - 1;
+
+    private final IntBuffer source;
+    private final int[][] blocks;
+
+    ScratchColumn(IntBuffer source) {
+        this.source = source;
+        this.blocks = new int[(source.limit() + MASK) >>> BLOCK_BITS][];
+    }
+
+    int get(int i) {
+        int[] b = blocks[i >>> BLOCK_BITS];
+        return b != null ? b[i & MASK] : source.get(i);
+    }
+
+    void set(int i, int value) {
+        int[] b = blocks[i >>> BLOCK_BITS];
+        if (b == null) b = copy(i >>> BLOCK_BITS);
+        b[i & MASK] = value;
+    }
+
+    private int[] copy(int block) {
+        int from = block << BLOCK_BITS;
+        int[] b = new int[Math.min(BLOCK, source.limit() - from)];
+        source.get(from, b);
+        blocks[block] = b;
+        return b;
+    }
+}
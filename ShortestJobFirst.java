@@ -0,0 +1,24 @@
+/** Non-preemptive SJF: the ready process with the smallest burst time runs next; switches are free unless charged. */
+public final class ShortestJobFirst implements Scheduler {
+
+    private final boolean chargeSwitches;
+
+    public ShortestJobFirst() {
+        this(false);
+    }
+
+    /** @param chargeSwitches charge the workload's context switch time between two processes */
+    public ShortestJobFirst(boolean chargeSwitches) {
+        this.chargeSwitches = chargeSwitches;
+    }
+
+    @Override
+    public String name() {
+        return "SJF";
+    }
+
+    @Override
+    public ScheduleResult schedule(Workload w) {
+        return PolicyEngine.run(w, KeyPolicy.SHORTEST_JOB, name(), chargeSwitches);
+    }
+}
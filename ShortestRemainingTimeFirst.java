@@ -0,0 +1,13 @@
+/** SRTF: preemptive SJF, the ready process with the least remaining time holds the CPU. */
+public final class ShortestRemainingTimeFirst implements Scheduler {
+
+    @Override
+    public String name() {
+        return "SRTF";
+    }
+
+    @Override
+    public ScheduleResult schedule(Workload w) {
+        return PolicyEngine.run(w, KeyPolicy.SHORTEST_REMAINING, name());
+    }
+}
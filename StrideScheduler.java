@@ -0,0 +1,138 @@
+import java.nio.IntBuffer;
+
+/**
+ * Stride scheduling, the deterministic counterpart of {@link LotteryScheduler}: each
+ * process has a stride inversely proportional to its tickets and a pass value that
+ * advances by its stride for every time unit it runs; the ready process with the
+ * smallest pass runs next, for up to one quantum. A process that becomes ready starts
+ * at the pass of the process dispatched last, so it neither starves the others nor
+ * gets credit for the time before it arrived. Ties go to the earlier arrival.
+ */
+public final class StrideScheduler implements Scheduler {
+
+    /** Stride of a process holding one ticket. */
+    static final long STRIDE1 = 1L << 30;
+
+    private final int quantum;
+
+    public StrideScheduler(int quantum) {
+        if (quantum <= 0) {
+            throw new IllegalArgumentException("quantum time must be positive: " + quantum);
+        }
+        this.quantum = quantum;
+    }
+
+    public int quantum() {
+        return quantum;
+    }
+
+    @Override
+    public String name() {
+        return "Stride(q=" + quantum + ")";
+    }
+
+    @Override
+    public ScheduleResult schedule(Workload w) {
+        ScheduleRecorder rec = new ScheduleRecorder(w);
+        int count = w.size();
+        IntBuffer at = w.arrivalColumn();
+        IntBuffer bt = w.burstColumn();
+        IntBuffer pr = w.priorityColumn();
+        int largest = LotteryScheduler.largestPriority(pr);
+        int[] order = ProcessSort.byKeys(at);
+        rec.sorted();
+
+        int cs = w.contextSwitch();
+
+        // by rank in arrival order, filled in as processes arrive
+        int[] rem = new int[count];
+        long[] pass = new long[count];
+        PassQueue ready = new PassQueue(count, pass);
+        long floor = 0;     // pass of the last dispatched process
+        int cursor = 0;
+        int com = 0;
+        int ct = 0;
+        int held = -1;      // rank whose context is loaded on the CPU, -1 after idling
+        while (com != count) {
+            if (ready.isEmpty() && at.get(order[cursor]) > ct) {
+                rec.idle(ct, at.get(order[cursor]));
+                ct = at.get(order[cursor]);
+                held = -1;
+            }
+            while (cursor < count && at.get(order[cursor]) <= ct) {
+                int r = cursor++;
+                rem[r] = bt.get(order[r]);
+                pass[r] = floor;
+                ready.push(r);
+            }
+
+            int r = ready.pop();
+            floor = pass[r];
+            if (held != -1 && held != r) {
+                rec.contextSwitch(ct, ct + cs);
+                ct += cs;
+            }
+            held = r;
+            int slice = Math.min(rem[r], quantum);
+            rec.run(order[r], ct, ct + slice);
+            ct += slice;
+            rem[r] -= slice;
+            if (rem[r] == 0) {
+                com++;
+                rec.finish(order[r], ct);
+            } else {
+                pass[r] += STRIDE1 / LotteryScheduler.tickets(pr.get(order[r]), largest) * slice;
+                ready.push(r);
+            }
+        }
+        return rec.build(name());
+    }
+
+    /** Binary min-heap of ranks ordered by (pass, rank); the pass values live in the caller's array. */
+    private static final class PassQueue {
+        private final int[] heap;
+        private final long[] pass;
+        private int size;
+
+        PassQueue(int capacity, long[] pass) {
+            this.heap = new int[Math.max(1, capacity)];
+            this.pass = pass;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void push(int r) {
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!less(r, heap[parent])) break;
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = r;
+        }
+
+        int pop() {
+            int top = heap[0];
+            int last = heap[--size];
+            int i = 0;
+            int half = size >>> 1;
+            while (i < half) {
+                int child = (i << 1) + 1;
+                int right = child + 1;
+                if (right < size && less(heap[right], heap[child])) child = right;
+                if (!less(heap[child], last)) break;
+                heap[i] = heap[child];
+                i = child;
+            }
+            if (size > 0) heap[i] = last;
+            return top;
+        }
+
+        private boolean less(int a, int b) {
+            return pass[a] != pass[b] ? pass[a] < pass[b] : a < b;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * What-if sweep: runs a grid of schedulers (all policies, RR with many quanta) over one
+ * workload in parallel. The workload columns are shared read-only by every task; each
+ * scheduler run allocates only its own scratch buffers, so tasks never contend.
+ * FCFS, SJF and NPPS are charged for context switches here like the preemptive
+ * policies, so every row pays the same switch cost.
+ */
+final class Sweep {
+
+    private Sweep() {
+    }
+
+    /** The five fixed policies followed by Round Robin for each quantum. */
+    static List<Scheduler> grid(int... quanta) {
+        List<Scheduler> grid = new ArrayList<>();
+        grid.add(new FirstComeFirstServed(true));
+        grid.add(new ShortestJobFirst(true));
+        grid.add(new ShortestRemainingTimeFirst());
+        grid.add(new NonPreemptivePriority(true));
+        grid.add(new PreemptivePriority());
+        for (int q : quanta) grid.add(new RoundRobin(q));
+        return grid;
+    }
+
+    /** Runs every scheduler on the pool; results are in grid order. */
+    static List<ScheduleResult> run(Workload w, List<Scheduler> grid, ForkJoinPool pool) {
+        List<ForkJoinTask<ScheduleResult>> tasks = new ArrayList<>(grid.size());
+        for (Scheduler s : grid) {
+            tasks.add(ForkJoinTask.adapt(() -> s.schedule(w)));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        List<ScheduleResult> results = new ArrayList<>(tasks.size());
+        for (ForkJoinTask<ScheduleResult> t : tasks) results.add(t.join());
+        return results;
+    }
+
+    static List<ScheduleResult> run(Workload w, List<Scheduler> grid) {
+        return run(w, grid, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Comparison table; the best average waiting and turnaround times, the best p99
+     * response time and the highest fairness index are marked with '*'.
+     */
+    static void printTable(List<ScheduleResult> results, PrintStream out) {
+        List<ScheduleMetrics> metrics = new ArrayList<>(results.size());
+        double bestWait = Double.MAX_VALUE;
+        double bestTat = Double.MAX_VALUE;
+        long bestResponse = Long.MAX_VALUE;
+        double bestFairness = 0;
+        for (ScheduleResult r : results) {
+            ScheduleMetrics m = ScheduleMetrics.of(r);
+            metrics.add(m);
+            bestWait = Math.min(bestWait, r.averageWaitingTime());
+            bestTat = Math.min(bestTat, r.averageTurnaroundTime());
+            bestResponse = Math.min(bestResponse, m.responsePercentile(99));
+            bestFairness = Math.max(bestFairness, m.fairnessIndex());
+        }
+        out.println();
+        out.printf(" %-12s %16s %20s %16s %10s %10s %10s %8s%n",
+                "ALGORITHM", "AVG WAITING", "AVG TURNAROUND", "P99 RESPONSE", "FAIRNESS", "MAKESPAN", "SWITCHES", "CPU %");
+        for (int k = 0; k < results.size(); k++) {
+            ScheduleResult r = results.get(k);
+            ScheduleMetrics m = metrics.get(k);
+            out.printf(" %-12s %15.2f%s %19.2f%s %15d%s %9.4f%s %10d %10d %8.2f%n", r.algorithm(),
+                    r.averageWaitingTime(), r.averageWaitingTime() == bestWait ? "*" : " ",
+                    r.averageTurnaroundTime(), r.averageTurnaroundTime() == bestTat ? "*" : " ",
+                    m.responsePercentile(99), m.responsePercentile(99) == bestResponse ? "*" : " ",
+                    m.fairnessIndex(), m.fairnessIndex() == bestFairness ? "*" : " ",
+                    r.makespan(), r.contextSwitches(), 100.0 * r.cpuUtilization());
+        }
+    }
+}
@@ -0,0 +1,154 @@
+import java.io.PrintWriter;
+import java.nio.IntBuffer;
+
+/**
+ * Proportional-share accuracy of a run. Processes with the same priority value form a
+ * tenant, and each process holds {@link LotteryScheduler#tickets} tickets, more for a lower
+ * priority value. While the CPU runs processes, each tenant is entitled to the fraction
+ * of that time given by its tickets among the tickets of all processes that have
+ * arrived and not yet finished.
+ * The share error of a tenant is the CPU time it received minus its entitlement; it is
+ * reported at the end of the run and as the largest deviation at any point in time.
+ *
+ * Like {@link ScheduleMetrics} this is derived afterwards from the finish times and the
+ * Gantt timeline, so it works for every scheduler, not just the proportional-share ones.
+ * Entitlements accrue lazily through a global virtual time (CPU time per active ticket),
+ * so each event only touches the tenant it concerns.
+ */
+public final class TenantShares {
+
+    private final String algorithm;
+    private final int[] priority;        // by tenant
+    private final int largest;           // largest priority value, for the ticket counts
+    private final int[] processes;
+    private final long[] cpu;
+    private final double[] entitled;
+    private final double[] maxError;
+    private final long busy;
+
+    // sweep state
+    private final long[] active;         // tickets of arrived, unfinished processes
+    private final double[] mark;         // virtual time up to which entitled[] is settled
+    private long totalActive;
+    private double virtualTime;
+
+    private TenantShares(ScheduleResult r) {
+        Workload w = r.workload();
+        int n = w.size();
+        algorithm = r.algorithm();
+        IntBuffer pr = w.priorityColumn();
+        int[] tenant = ProcessSort.denseRanks(pr);
+        int tenants = 0;
+        for (int t : tenant) tenants = Math.max(tenants, t + 1);
+        priority = new int[tenants];
+        processes = new int[tenants];
+        for (int i = 0; i < n; i++) {
+            priority[tenant[i]] = pr.get(i);
+            processes[tenant[i]]++;
+        }
+        largest = tenants == 0 ? 0 : priority[tenants - 1];
+        cpu = new long[tenants];
+        entitled = new double[tenants];
+        maxError = new double[tenants];
+        active = new long[tenants];
+        mark = new double[tenants];
+
+        int[] arrivals = ProcessSort.byKeys(w.arrivalColumn());
+        int[] finish = r.finishTimes();
+        int[] finishes = ProcessSort.byKeys(IntBuffer.wrap(finish));
+        int a = 0;
+        int f = 0;
+        long ran = 0;
+        for (int k = 0; k < r.segmentCount(); k++) {
+            int p = r.segmentProcess(k);
+            int end = r.segmentEnd(k);
+            int t = r.segmentStart(k);
+            while (t < end) {
+                while (a < n && w.arrival(arrivals[a]) <= t) {
+                    int i = arrivals[a++];
+                    activate(tenant[i], LotteryScheduler.tickets(pr.get(i), largest));
+                }
+                while (f < n && finish[finishes[f]] <= t) {
+                    int i = finishes[f++];
+                    activate(tenant[i], -LotteryScheduler.tickets(pr.get(i), largest));
+                }
+                int next = end;
+                if (a < n && w.arrival(arrivals[a]) < next) next = w.arrival(arrivals[a]);
+                if (f < n && finish[finishes[f]] < next) next = finish[finishes[f]];
+                if (p >= 0 && next > t && totalActive > 0) {
+                    int c = tenant[p];
+                    settle(c);
+                    cpu[c] += next - t;
+                    ran += next - t;
+                    virtualTime += (double) (next - t) / totalActive;
+                    settle(c);
+                }
+                t = next;
+            }
+        }
+        for (int c = 0; c < tenants; c++) settle(c);
+        busy = ran;
+    }
+
+    /** Share statistics of a finished run. */
+    public static TenantShares of(ScheduleResult r) {
+        return new TenantShares(r);
+    }
+
+    private void activate(int c, long tickets) {
+        settle(c);
+        active[c] += tickets;
+        totalActive += tickets;
+    }
+
+    // brings entitled[c] up to the current virtual time; between two of its own events a
+    // tenant's error changes monotonically, so checking here finds its extremes
+    private void settle(int c) {
+        entitled[c] += active[c] * (virtualTime - mark[c]);
+        mark[c] = virtualTime;
+        maxError[c] = Math.max(maxError[c], Math.abs(cpu[c] - entitled[c]));
+    }
+
+    public String algorithm() {
+        return algorithm;
+    }
+
+    public int tenants() {
+        return priority.length;
+    }
+
+    /** Priority value shared by the processes of tenant {@code c}; tenants are in ascending priority order. */
+    public int priority(int c) {
+        return priority[c];
+    }
+
+    public long cpuTime(int c) {
+        return cpu[c];
+    }
+
+    public double entitledTime(int c) {
+        return entitled[c];
+    }
+
+    /** Received minus entitled CPU time at the end of the run. */
+    public double shareError(int c) {
+        return cpu[c] - entitled[c];
+    }
+
+    /** Largest absolute share error at any point during the run. */
+    public double maxShareError(int c) {
+        return maxError[c];
+    }
+
+    public void print(PrintWriter out) {
+        out.println();
+        out.printf(" %-8s %8s %8s %12s %8s %10s %12s %14s%n",
+                "TENANT", "TICKETS", "PROCS", "CPU TIME", "SHARE", "ENTITLED", "SHARE ERROR", "MAX |ERROR|");
+        for (int c = 0; c < priority.length; c++) {
+            out.printf(" pr=%-5d %8d %8d %12d %7.2f%% %9.2f%% %12.2f %14.2f%n",
+                    priority[c], LotteryScheduler.tickets(priority[c], largest), processes[c], cpu[c],
+                    busy == 0 ? 0.0 : 100.0 * cpu[c] / busy, busy == 0 ? 0.0 : 100.0 * entitled[c] / busy,
+                    shareError(c), maxError[c]);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ * Fenwick (binary indexed) tree of ticket counts for lottery scheduling. Slot k holds
+ * the tickets of one ready process (0 when it is not ready); a draw maps a number in
+ * [0, total) to the slot whose ticket range contains it by descending the tree, so
+ * adding, removing and drawing are all O(log n) however many processes are ready.
+ */
+final class TicketTree {
+
+    private final long[] tree;   // 1-based
+    private final int top;       // highest power of two <= size
+    private long total;
+
+    TicketTree(int size) {
+        tree = new long[size + 1];
+        top = size == 0 ? 0 : Integer.highestOneBit(size);
+    }
+
+    long total() {
+        return total;
+    }
+
+    /** Adds {@code delta} tickets to slot k. */
+    void add(int k, long delta) {
+        total += delta;
+        for (int i = k + 1; i < tree.length; i += i & -i) tree[i] += delta;
+    }
+
+    /** The slot holding ticket {@code ticket}, counting from 0 across slots in index order. */
+    int find(long ticket) {
+        int pos = 0;
+        long rest = ticket;
+        for (int step = top; step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next < tree.length && tree[next] <= rest) {
+                pos = next;
+                rest -= tree[next];
+            }
+        }
+        return pos;      // 1-based position pos + 1, i.e. slot pos
+    }
+}
@@ -0,0 +1,97 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * Gantt timeline shared by every scheduler: segments (process, start, end) packed three
+ * ints apiece into one growable {@link IntBuffer}, either on the Java heap or, for very
+ * large runs, off-heap in a direct buffer so millions of segments add nothing for the GC
+ * to trace. A segment that continues the previous one for the same process (or idle
+ * period) is merged into it instead of being appended. Context switches are never
+ * merged: a switch abandoned the moment it completes is followed directly by the next
+ * one, and each stays its own segment so the chart shows both.
+ */
+final class Timeline {
+
+    /** Expected segment counts from this size on are stored off-heap. */
+    static final int OFF_HEAP_THRESHOLD = 1 << 22;
+
+    private static final int PROCESS = 0;
+    private static final int START = 1;
+    private static final int END = 2;
+    private static final int WIDTH = 3;
+
+    private final boolean offHeap;
+    private IntBuffer data;
+    private int size;
+
+    /** Picks the backing from the expected number of segments. */
+    static Timeline forSegments(int expected) {
+        return new Timeline(expected, expected >= OFF_HEAP_THRESHOLD);
+    }
+
+    Timeline(int capacity, boolean offHeap) {
+        this.offHeap = offHeap;
+        this.data = allocate(Math.max(16, capacity), offHeap);
+    }
+
+    boolean isOffHeap() {
+        return offHeap;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Process {@code p} (or a negative marker) held the CPU during [start, end). Returns
+     * false if this only extended the previous segment.
+     */
+    boolean add(int p, int start, int end) {
+        if (size > 0) {
+            int last = (size - 1) * WIDTH;
+            if (p != ScheduleRecorder.SWITCH && data.get(last + PROCESS) == p && data.get(last + END) == start) {
+                data.put(last + END, end);
+                return false;
+            }
+        }
+        if ((size + 1) * WIDTH > data.capacity()) grow();
+        int base = size * WIDTH;
+        data.put(base + PROCESS, p);
+        data.put(base + START, start);
+        data.put(base + END, end);
+        size++;
+        return true;
+    }
+
+    int process(int k) {
+        return data.get(k * WIDTH + PROCESS);
+    }
+
+    int start(int k) {
+        return data.get(k * WIDTH + START);
+    }
+
+    int end(int k) {
+        return data.get(k * WIDTH + END);
+    }
+
+    private void grow() {
+        long segments = data.capacity() / WIDTH;
+        IntBuffer bigger = allocate(segments + (segments >> 1) + 1, offHeap);
+        IntBuffer used = data.duplicate();
+        used.position(0).limit(size * WIDTH);
+        bigger.put(used);
+        bigger.clear();
+        data = bigger;
+    }
+
+    private static IntBuffer allocate(long segments, boolean offHeap) {
+        long ints = segments * WIDTH;
+        if (ints > Integer.MAX_VALUE / Integer.BYTES) {
+            throw new IllegalStateException("timeline too large: " + segments + " segments");
+        }
+        if (!offHeap) return IntBuffer.allocate((int) ints);
+        return ByteBuffer.allocateDirect((int) ints * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+}
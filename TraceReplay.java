@@ -0,0 +1,355 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads an {@link EventLog} trace back and replays it event by event.
+ *
+ * <pre>
+ * java TraceReplay TRACE                  event counts and time span
+ * java TraceReplay TRACE --at 1200        state of the CPU and every process at time 1200
+ * java TraceReplay TRACE --chrome out.json
+ * </pre>
+ *
+ * The replay rebuilds the scheduler's view from the events alone: which processes have
+ * arrived, which one holds the CPU (or whether it is idle or switching), and how much of
+ * each burst has run, so the state at a timestamp is exact and needs no re-run of the
+ * scheduler. Events that contradict that state, such as dispatching a process that is
+ * not ready, are reported with their position in the file.
+ *
+ * The Chrome export is the trace event JSON read by chrome://tracing and Perfetto, one
+ * time unit per microsecond: runs, idle periods and switches as slices on a CPU track,
+ * arrivals and completions as instants, and the ready-queue length as a counter. It is
+ * written while the trace is read, so its size is not limited by memory.
+ */
+public final class TraceReplay {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final String[] TYPE_NAMES = {"arrival", "dispatch", "preempt", "complete", "idle", "switch"};
+
+    private static final byte NOT_ARRIVED = 0;
+    private static final byte READY = 1;
+    private static final byte RUNNING = 2;
+    private static final byte DONE = 3;
+
+    private final String algorithm;
+    private final int processes;
+    private final long dataOffset;
+
+    // replay state
+    private final byte[] state;
+    private final int[] arrival;
+    private final int[] burst;
+    private final int[] executed;
+    private final long[] counts = new long[TYPE_NAMES.length];
+    private int running = -1;
+    private int runningSince;
+    private int cpuEvent = -1;       // last IDLE or SWITCH record while nothing runs, -1 otherwise
+    private int cpuEventEnd;
+    private int switchFrom;
+    private int ready;
+    private int done;
+    private int time;
+    private long position;
+
+    private TraceReplay(FileChannel ch, Path path) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate(EventLog.RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (head.hasRemaining() && ch.read(head) != -1) {
+            // fill the fixed-size header
+        }
+        if (head.hasRemaining() || head.getInt(0) != EventLog.MAGIC) {
+            throw new IOException("not an event trace: " + path);
+        }
+        if (head.getInt(4) != EventLog.VERSION) {
+            throw new IOException("unsupported trace version " + head.getInt(4) + " in " + path);
+        }
+        processes = head.getInt(8);
+        int nameLength = head.getInt(12);
+        if (processes < 0 || nameLength < 0) {
+            throw new IOException("corrupt trace header in " + path);
+        }
+        ByteBuffer name = ByteBuffer.allocate(nameLength);
+        while (name.hasRemaining() && ch.read(name) != -1) {
+            // read the algorithm name
+        }
+        algorithm = new String(name.array(), 0, name.position(), StandardCharsets.UTF_8);
+        dataOffset = EventLog.RECORD_SIZE + EventLog.align(nameLength);
+        state = new byte[processes];
+        arrival = new int[processes];
+        burst = new int[processes];
+        executed = new int[processes];
+    }
+
+    /** Receives every event after it has been applied to the replay state. */
+    private interface Listener {
+        void event(int type, int time, int process, int arg) throws IOException;
+    }
+
+    /** Replays records up to and including time {@code until}; returns the number of records read. */
+    private long replay(FileChannel ch, long until, Listener listener) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        ch.position(dataOffset);
+        long read = 0;
+        while (ch.read(buf) != -1 || buf.position() > 0) {
+            buf.flip();
+            if (buf.remaining() < EventLog.RECORD_SIZE) {
+                throw new IOException("truncated record at event " + read);
+            }
+            while (buf.remaining() >= EventLog.RECORD_SIZE) {
+                int type = buf.getInt();
+                int t = buf.getInt();
+                int p = buf.getInt();
+                int arg = buf.getInt();
+                if (t > until) return read;
+                apply(type, t, p, arg);
+                read++;
+                if (listener != null) listener.event(type, t, p, arg);
+            }
+            buf.compact();
+        }
+        return read;
+    }
+
+    private void apply(int type, int t, int p, int arg) throws IOException {
+        if (t < time) fail("event at " + t + " after time " + time);
+        if (type < 0 || type >= TYPE_NAMES.length) fail("unknown event type " + type);
+        boolean needsProcess = type != EventLog.IDLE && type != EventLog.SWITCH;
+        if ((needsProcess || p != -1) && (p < 0 || p >= processes)) fail("process index " + p + " out of range");
+        time = t;
+        counts[type]++;
+        position++;
+        switch (type) {
+            case EventLog.ARRIVAL:
+                if (state[p] != NOT_ARRIVED) fail("P" + (p + 1) + " arrives twice");
+                state[p] = READY;
+                arrival[p] = t;
+                burst[p] = arg;
+                ready++;
+                break;
+            case EventLog.DISPATCH:
+                if (state[p] != READY) fail("P" + (p + 1) + " dispatched while not ready");
+                if (running != -1) fail("P" + (p + 1) + " dispatched while P" + (running + 1) + " runs");
+                state[p] = RUNNING;
+                ready--;
+                running = p;
+                runningSince = t;
+                cpuEvent = -1;
+                break;
+            case EventLog.PREEMPT:
+            case EventLog.COMPLETE:
+                if (state[p] == RUNNING) {
+                    executed[p] += t - runningSince;
+                    running = -1;
+                } else if (type == EventLog.PREEMPT || state[p] != READY) {
+                    fail("P" + (p + 1) + (type == EventLog.PREEMPT ? " preempted" : " completed") + " while not running");
+                } else {
+                    ready--;       // a zero-length job completes without ever being dispatched
+                }
+                if (type == EventLog.PREEMPT) {
+                    state[p] = READY;
+                    ready++;
+                } else {
+                    state[p] = DONE;
+                    done++;
+                }
+                break;
+            default:
+                if (running != -1) fail(TYPE_NAMES[type] + " while P" + (running + 1) + " runs");
+                cpuEvent = type;
+                cpuEventEnd = arg;
+                switchFrom = p;
+                break;
+        }
+    }
+
+    private void fail(String message) throws IOException {
+        throw new IOException("inconsistent trace at event " + position + ": " + message);
+    }
+
+    // ---------- reports ----------
+
+    private void printSummary(PrintWriter out, long records) {
+        out.printf(" Trace of %s: %d processes, %d events, last event at %d%n", algorithm, processes, records, time);
+        for (int k = 0; k < TYPE_NAMES.length; k++) out.printf(" %-10s %12d%n", TYPE_NAMES[k], counts[k]);
+    }
+
+    private void printState(PrintWriter out, int at, int rows) {
+        out.printf(" State of %s at t=%d%n", algorithm, at);
+        if (running != -1) {
+            int ran = executed[running] + (at - runningSince);
+            out.printf(" CPU: running P%d since %d, %d of %d done%n", running + 1, runningSince, ran, burst[running]);
+        } else if (cpuEvent == EventLog.SWITCH && cpuEventEnd > at) {
+            out.printf(" CPU: switching context%s until %d%n", switchFrom < 0 ? "" : " from P" + (switchFrom + 1), cpuEventEnd);
+        } else if (cpuEvent == EventLog.IDLE && cpuEventEnd > at) {
+            out.printf(" CPU: idle until %d%n", cpuEventEnd);
+        } else {
+            out.println(" CPU: between events");
+        }
+        int arrived = ready + done + (running == -1 ? 0 : 1);
+        out.printf(" Arrived %d, ready %d, completed %d, not yet arrived %d%n", arrived, ready, done, processes - arrived);
+        if (ready == 0) return;
+        out.println();
+        out.printf(" %-10s %10s %10s %10s %10s%n", "READY", "ARRIVAL", "BURST", "EXECUTED", "REMAINING");
+        int shown = 0;
+        for (int i = 0; i < processes && shown < rows; i++) {
+            if (state[i] != READY) continue;
+            out.printf(" P%-9d %10d %10d %10d %10d%n", i + 1, arrival[i], burst[i], executed[i], burst[i] - executed[i]);
+            shown++;
+        }
+        if (ready > shown) out.printf(" ... and %d more%n", ready - shown);
+    }
+
+    /** Chrome trace event JSON, written as the replay goes. */
+    private final class ChromeExport implements Listener {
+        private final PrintWriter out;
+        private int onCpu = -1;
+        private int onCpuSince;
+        private int readyShown = -1;
+        private int readyTime;
+        private int readyValue;
+
+        ChromeExport(PrintWriter out) {
+            this.out = out;
+            out.print("{\"traceEvents\":[\n");
+            out.printf("{\"name\":\"process_name\",\"ph\":\"M\",\"pid\":1,\"args\":{\"name\":\"%s\"}},%n", escape(algorithm));
+            out.print("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":1,\"args\":{\"name\":\"CPU\"}},\n");
+            out.print("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":2,\"args\":{\"name\":\"arrivals and completions\"}}");
+        }
+
+        @Override
+        public void event(int type, int t, int p, int arg) {
+            if (t != readyTime) flushCounter();
+            switch (type) {
+                case EventLog.ARRIVAL:
+                    out.append(",\n{\"name\":\"arrive P").append(Integer.toString(p + 1))
+                            .append("\",\"ph\":\"i\",\"s\":\"t\",\"pid\":1,\"tid\":2,\"ts\":").append(Integer.toString(t))
+                            .append(",\"args\":{\"burst\":").append(Integer.toString(arg)).append("}}");
+                    break;
+                case EventLog.PREEMPT:
+                case EventLog.COMPLETE:
+                    if (p == onCpu) {
+                        slice("P" + (p + 1), "run", onCpuSince, t);
+                        onCpu = -1;
+                    }
+                    if (type == EventLog.COMPLETE) {
+                        out.append(",\n{\"name\":\"complete P").append(Integer.toString(p + 1))
+                                .append("\",\"ph\":\"i\",\"s\":\"t\",\"pid\":1,\"tid\":2,\"ts\":").append(Integer.toString(t)).append('}');
+                    }
+                    break;
+                case EventLog.IDLE:
+                    slice("idle", "idle", t, arg);
+                    break;
+                case EventLog.SWITCH:
+                    if (arg > t) slice("context switch", "switch", t, arg);
+                    break;
+                default:
+                    onCpu = p;      // dispatch
+                    onCpuSince = t;
+                    break;
+            }
+            readyTime = t;
+            readyValue = ready;
+        }
+
+        private void slice(String name, String category, int start, int end) {
+            // appended piece by piece: printf would dominate the export time of large traces
+            out.append(",\n{\"name\":\"").append(name).append("\",\"cat\":\"").append(category)
+                    .append("\",\"ph\":\"X\",\"pid\":1,\"tid\":1,\"ts\":").append(Integer.toString(start))
+                    .append(",\"dur\":").append(Integer.toString(end - start)).append('}');
+        }
+
+        private void flushCounter() {
+            if (readyValue == readyShown) return;
+            out.append(",\n{\"name\":\"ready\",\"ph\":\"C\",\"pid\":1,\"ts\":").append(Integer.toString(readyTime))
+                    .append(",\"args\":{\"processes\":").append(Integer.toString(readyValue)).append("}}");
+            readyShown = readyValue;
+        }
+
+        void finish() {
+            flushCounter();
+            out.print("\n],\"displayTimeUnit\":\"ms\"}\n");
+        }
+    }
+
+    private static String escape(String s) {
+        StringBuilder b = new StringBuilder(s.length() + 8);
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') b.append('\\').append(c);
+            else if (c < 0x20) b.append(String.format("\\u%04x", (int) c));
+            else b.append(c);
+        }
+        return b.toString();
+    }
+
+    // ---------- command line ----------
+
+    public static void main(String[] args) {
+        if (args.length == 0 || args[0].startsWith("--")) {
+            System.err.println("usage: java TraceReplay TRACE [--at TIME] [--ready ROWS] [--chrome OUT.json]");
+            return;
+        }
+        Path trace = Paths.get(args[0]);
+        Integer at = null;
+        int rows = 20;
+        String chrome = null;
+        for (int a = 1; a < args.length; a++) {
+            String flag = args[a];
+            if (a + 1 >= args.length) {
+                System.err.println("Missing value for " + flag);
+                return;
+            }
+            String value = args[++a];
+            try {
+                switch (flag) {
+                    case "--at":
+                        at = Integer.parseInt(value);
+                        break;
+                    case "--ready":
+                        rows = Integer.parseInt(value);
+                        break;
+                    case "--chrome":
+                        chrome = value;
+                        break;
+                    default:
+                        System.err.println("Unknown option " + flag);
+                        return;
+                }
+            } catch (NumberFormatException e) {
+                System.err.println("Invalid value for " + flag + ": " + value);
+                return;
+            }
+        }
+
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out)), false);
+        try (FileChannel ch = FileChannel.open(trace, StandardOpenOption.READ)) {
+            TraceReplay replay = new TraceReplay(ch, trace);
+            if (chrome != null) {
+                try (PrintWriter json = new PrintWriter(Files.newBufferedWriter(Paths.get(chrome), StandardCharsets.UTF_8))) {
+                    ChromeExport export = replay.new ChromeExport(json);
+                    long records = replay.replay(ch, at == null ? Integer.MAX_VALUE : at, export);
+                    export.finish();
+                    out.printf(" Wrote %d events to %s%n", records, chrome);
+                }
+            } else if (at != null) {
+                replay.replay(ch, at, null);
+                replay.printState(out, at, rows);
+            } else {
+                replay.printSummary(out, replay.replay(ch, Integer.MAX_VALUE, null));
+            }
+        } catch (IOException e) {
+            System.err.println("Replay failed: " + e.getMessage());
+        } finally {
+            out.flush();
+        }
+    }
+}
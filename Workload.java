@@ -0,0 +1,239 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * Immutable set of processes to schedule, stored as parallel primitive columns.
+ * Process i has pid(i), arrival(i), burst(i) and priority(i); results refer to
+ * processes by this index, so schedulers never reorder the workload itself.
+ *
+ * The arrival, burst and priority columns are {@link IntBuffer}s over int arrays on the
+ * heap, over direct buffers off the heap ({@link #toOffHeap()}), or straight over a
+ * mapped binary workload file ({@link WorkloadFile.Mapped#asWorkload()}); the pid of
+ * process i is always i + 1 and is not stored. Real-time workloads add two optional
+ * columns, a relative deadline and a period (see {@link RealTimeScheduler}); without
+ * them both read as 0. Schedulers read the columns through
+ * read-only views and take a {@link ScratchColumn} for anything they need to modify,
+ * so a run never duplicates the inputs.
+ */
+public final class Workload {
+
+    private final IntBuffer arrival;
+    private final IntBuffer burst;
+    private final IntBuffer priority;
+    private final IntBuffer deadline;    // null when the workload has no deadlines
+    private final IntBuffer period;      // null when the workload has no periods
+    private final int size;
+    private final int contextSwitch;
+    private final boolean offHeap;
+    private volatile long fingerprint;
+    private volatile boolean fingerprinted;
+
+    // validate: check every burst, deadline and period; off for columns that come from an
+    // existing workload or from a file written from one, which already hold
+    private Workload(IntBuffer arrival, IntBuffer burst, IntBuffer priority,
+                     IntBuffer deadline, IntBuffer period, int contextSwitch, boolean validate) {
+        int n = arrival.limit();
+        if (burst.limit() != n || priority.limit() != n
+                || (deadline != null && deadline.limit() != n) || (period != null && period.limit() != n)) {
+            throw new IllegalArgumentException("workload columns differ in length");
+        }
+        if (contextSwitch < 0) {
+            throw new IllegalArgumentException("negative context switch time: " + contextSwitch);
+        }
+        for (int i = 0; validate && i < n; i++) {
+            if (burst.get(i) < 0) {
+                throw new IllegalArgumentException("negative burst time for process " + (i + 1));
+            }
+            if (deadline != null && deadline.get(i) < 0) {
+                throw new IllegalArgumentException("negative deadline for process " + (i + 1));
+            }
+            if (period != null && period.get(i) < 0) {
+                throw new IllegalArgumentException("negative period for process " + (i + 1));
+            }
+        }
+        this.arrival = arrival.asReadOnlyBuffer();
+        this.burst = burst.asReadOnlyBuffer();
+        this.priority = priority.asReadOnlyBuffer();
+        this.deadline = deadline == null ? null : deadline.asReadOnlyBuffer();
+        this.period = period == null ? null : period.asReadOnlyBuffer();
+        this.size = n;
+        this.contextSwitch = contextSwitch;
+        this.offHeap = arrival.isDirect();
+    }
+
+    /** Copies the given columns; pids are assigned 1..n in input order. */
+    public static Workload of(int[] at, int[] bt, int[] pr, int contextSwitch) {
+        return wrap(at.clone(), bt.clone(), pr.clone(), contextSwitch);
+    }
+
+    /**
+     * Copies the given columns, including relative deadlines and periods for real-time
+     * scheduling; either may be null, and 0 means none.
+     */
+    public static Workload of(int[] at, int[] bt, int[] pr, int[] deadline, int[] period, int contextSwitch) {
+        return wrap(at.clone(), bt.clone(), pr.clone(), deadline == null ? null : deadline.clone(),
+                period == null ? null : period.clone(), contextSwitch);
+    }
+
+    /** Like {@link #of} but takes ownership of the arrays instead of copying them. */
+    static Workload wrap(int[] at, int[] bt, int[] pr, int contextSwitch) {
+        return wrap(at, bt, pr, null, null, contextSwitch);
+    }
+
+    static Workload wrap(int[] at, int[] bt, int[] pr, int[] deadline, int[] period, int contextSwitch) {
+        return new Workload(IntBuffer.wrap(at), IntBuffer.wrap(bt), IntBuffer.wrap(pr),
+                deadline == null ? null : IntBuffer.wrap(deadline), period == null ? null : IntBuffer.wrap(period),
+                contextSwitch, true);
+    }
+
+    /**
+     * Uses the given buffers, from index 0 to their limits, as the columns without copying
+     * them; deadline and period may be null. The values are trusted, not read: a mapped
+     * file was written from a validated workload, and checking it here would page in the
+     * whole file before the first decision.
+     */
+    static Workload view(IntBuffer at, IntBuffer bt, IntBuffer pr, IntBuffer deadline, IntBuffer period,
+                         int contextSwitch) {
+        return new Workload(at.duplicate().rewind(), bt.duplicate().rewind(), pr.duplicate().rewind(),
+                deadline == null ? null : deadline.duplicate().rewind(),
+                period == null ? null : period.duplicate().rewind(), contextSwitch, false);
+    }
+
+    /** Copy of this workload whose columns live in direct buffers, outside the Java heap. */
+    public Workload toOffHeap() {
+        return new Workload(direct(arrival), direct(burst), direct(priority), direct(deadline), direct(period),
+                contextSwitch, false);
+    }
+
+    private static IntBuffer direct(IntBuffer column) {
+        if (column == null) return null;
+        int n = column.limit();
+        if (n > Integer.MAX_VALUE / Integer.BYTES) {
+            throw new IllegalStateException("column too large for a direct buffer: " + n + " processes");
+        }
+        IntBuffer copy = ByteBuffer.allocateDirect(n * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+        copy.put(column.duplicate().rewind());
+        return copy.clear();
+    }
+
+    /** True if the columns are held outside the Java heap, in a direct or mapped buffer. */
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int arrival(int i) {
+        return arrival.get(i);
+    }
+
+    public int burst(int i) {
+        return burst.get(i);
+    }
+
+    public int priority(int i) {
+        return priority.get(i);
+    }
+
+    public int pid(int i) {
+        return i + 1;
+    }
+
+    /** Relative deadline: the process should finish within this time of arriving; 0 for none. */
+    public int deadline(int i) {
+        return deadline == null ? 0 : deadline.get(i);
+    }
+
+    /** Release period of a periodic task; 0 for a process that runs once. */
+    public int period(int i) {
+        return period == null ? 0 : period.get(i);
+    }
+
+    public boolean hasDeadlines() {
+        return deadline != null;
+    }
+
+    public boolean hasPeriods() {
+        return period != null;
+    }
+
+    /** Time charged whenever the CPU switches from one process to another. */
+    public int contextSwitch() {
+        return contextSwitch;
+    }
+
+    /**
+     * 64-bit hash of all columns and the context switch time;
+     * equal workloads always have equal fingerprints. Computed on first use and then
+     * kept, so only the first call reads the columns.
+     */
+    public long fingerprint() {
+        if (!fingerprinted) {
+            long h = 0x9E3779B97F4A7C15L ^ size;
+            h = mix(h, contextSwitch);
+            int[] chunk = new int[Math.min(size, 1 << 14)];
+            for (IntBuffer column : new IntBuffer[] {arrival, burst, priority, deadline, period}) {
+                if (column == null) continue;
+                // four independent lanes so consecutive multiplies do not wait on each other
+                long a = h;
+                long b = h + 1;
+                long c = h + 2;
+                long d = h + 3;
+                for (int from = 0; from < size; from += chunk.length) {
+                    int len = Math.min(chunk.length, size - from);
+                    column.get(from, chunk, 0, len);
+                    int k = 0;
+                    for (; k + 4 <= len; k += 4) {
+                        a = Long.rotateLeft((a ^ chunk[k]) * 0x9E3779B97F4A7C15L, 31);
+                        b = Long.rotateLeft((b ^ chunk[k + 1]) * 0xC2B2AE3D27D4EB4FL, 31);
+                        c = Long.rotateLeft((c ^ chunk[k + 2]) * 0x165667B19E3779F9L, 31);
+                        d = Long.rotateLeft((d ^ chunk[k + 3]) * 0x85EBCA77C2B2AE63L, 31);
+                    }
+                    for (; k < len; k++) a = mix(a, chunk[k]);
+                }
+                h = mix(mix(mix(mix(h, (int) (a ^ a >>> 32)), (int) (b ^ b >>> 32)), (int) (c ^ c >>> 32)), (int) (d ^ d >>> 32));
+            }
+            fingerprint = h;
+            fingerprinted = true;
+        }
+        return fingerprint;
+    }
+
+    private static long mix(long h, int v) {
+        h = (h ^ v) * 0xFF51AFD7ED558CCDL;
+        return h ^ (h >>> 29);
+    }
+
+    // Read-only column views for schedulers in this package; only absolute get(i) is meant
+    // to be used on them, so one view can be shared by concurrent runs.
+
+    IntBuffer arrivalColumn() {
+        return arrival;
+    }
+
+    IntBuffer burstColumn() {
+        return burst;
+    }
+
+    IntBuffer priorityColumn() {
+        return priority;
+    }
+
+    /** Null when the workload has no deadlines. */
+    IntBuffer deadlineColumn() {
+        return deadline;
+    }
+
+    /** Null when the workload has no periods. */
+    IntBuffer periodColumn() {
+        return period;
+    }
+
+    /** Writable burst column for a run, copied block by block as it is written. */
+    ScratchColumn burstScratch() {
+        return new ScratchColumn(burst);
+    }
+}
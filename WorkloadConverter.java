@@ -0,0 +1,80 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * Converts workloads between the text format of inputfile.txt and the binary format of
+ * {@link WorkloadFile}. The direction follows the input: a binary file is written out
+ * as text, anything else is parsed as text and written as binary.
+ *
+ * <pre>
+ * java WorkloadConverter trace.txt trace.bin
+ * java WorkloadConverter trace.bin trace.txt
+ * </pre>
+ */
+public final class WorkloadConverter {
+
+    private WorkloadConverter() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("usage: java WorkloadConverter INPUT OUTPUT");
+            return;
+        }
+        Path in = Paths.get(args[0]);
+        Path out = Paths.get(args[1]);
+        try {
+            if (WorkloadFile.isWorkload(in)) {
+                WorkloadFile.Mapped m = WorkloadFile.map(in);
+                writeText(m.asWorkload(), m.header(), out);
+                System.out.printf("wrote %d processes as text to %s%n", m.size(), out);
+            } else {
+                WorkloadReader reader = new WorkloadReader();
+                Workload w = reader.read(in);
+                if (reader.droppedIncompleteRecord()) {
+                    System.err.println("Warning: process data count is not multiple of " + reader.recordWidth()
+                            + ". Using complete records only.");
+                }
+                WorkloadFile.writeWorkload(w, reader.header(), out);
+                System.out.printf("wrote %d processes as binary to %s%n", w.size(), out);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Conversion failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the text layout read by {@link WorkloadReader}: header, records, context
+     * switch. Deadline and period columns are written when the workload has them, and
+     * named in the header if it does not mention them already.
+     */
+    static void writeText(Workload w, String header, Path path) throws IOException {
+        String text = header == null ? "" : header;
+        String lower = text.toLowerCase(Locale.ROOT);
+        // the reader decides from the header alone which fields a record has
+        boolean deadlines = w.hasDeadlines() || lower.contains("deadline");
+        boolean periods = w.hasPeriods() || lower.contains("period");
+        if (deadlines && !lower.contains("deadline")) text += " Deadline";
+        if (periods && !lower.contains("period")) text += " Period";
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            out.write(text);
+            out.write("\n\n");
+            StringBuilder line = new StringBuilder(48);
+            for (int i = 0; i < w.size(); i++) {
+                line.setLength(0);
+                line.append(w.arrival(i)).append("  ").append(w.burst(i)).append("  ").append(w.priority(i));
+                if (deadlines) line.append("  ").append(w.deadline(i));
+                if (periods) line.append("  ").append(w.period(i));
+                out.append(line.append('\n'));
+            }
+            out.write("context switching\n");
+            out.write(Integer.toString(w.contextSwitch()));
+            out.write('\n');
+        }
+    }
+}
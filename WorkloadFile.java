@@ -0,0 +1,431 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.IntSupplier;
+
+/**
+ * Versioned binary columnar files for workloads and schedule results. All values are
+ * little-endian ints; every section starts on an 8-byte boundary.
+ *
+ * <pre>
+ * workload (version 1)                     result (version 1)
+ *   0  magic "SWKL"                          0  magic "SRES"
+ *   4  version                               4  version
+ *   8  column mask (see below)               8  process count n
+ *  12  process count n                      12  segment count s
+ *  16  context switch time                  16  context switches
+ *  20  header text length in bytes          20  algorithm name length in bytes
+ *  24  reserved (0)                         24  dispatch decisions
+ *  28  reserved (0)                         28  reserved (0)
+ *  32  header text, UTF-8                   32  algorithm name, UTF-8
+ *  ..  one int[n] column per mask bit       ..  finish[n]
+ *                                           ..  segment process[s], start[s], end[s]
+ * </pre>
+ * Column mask bits: 0 arrival, 1 burst, 2 priority (all required), 3 deadline and
+ * 4 period (optional).
+ * Workloads are loaded with {@link FileChannel#map}: {@link #map} returns read-only
+ * column views straight over the page cache, so nothing is parsed or copied until a
+ * column is read, and {@link Mapped#asWorkload()} schedules from those views directly.
+ * Pids are implicit (1..n in file order) and not stored. Each column is one mapping, and
+ * a mapping is limited to 2 GiB, so a workload file holds at most {@link #MAX_PROCESSES}
+ * processes; the writers refuse larger workloads.
+ */
+final class WorkloadFile {
+
+    static final int WORKLOAD_MAGIC = 0x4C4B5753;  // "SWKL"
+    static final int RESULT_MAGIC = 0x53455253;    // "SRES"
+    static final int VERSION = 1;
+
+    static final int ARRIVAL = 1;
+    static final int BURST = 1 << 1;
+    static final int PRIORITY = 1 << 2;
+    static final int DEADLINE = 1 << 3;
+    static final int PERIOD = 1 << 4;
+
+    /** Largest process count whose int column fits in one mapping. */
+    static final int MAX_PROCESSES = Integer.MAX_VALUE / Integer.BYTES;
+
+    private static final int HEADER_SIZE = 32;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private WorkloadFile() {
+    }
+
+    /** Read-only column views over a mapped workload file. */
+    static final class Mapped {
+        private final String header;
+        private final int size;
+        private final int contextSwitch;
+        private final IntBuffer arrival;
+        private final IntBuffer burst;
+        private final IntBuffer priority;
+        private final IntBuffer deadline;    // null when the file has no such column
+        private final IntBuffer period;
+
+        private Mapped(String header, int size, int contextSwitch, IntBuffer[] columns) {
+            this.header = header;
+            this.size = size;
+            this.contextSwitch = contextSwitch;
+            this.arrival = columns[0];
+            this.burst = columns[1];
+            this.priority = columns[2];
+            this.deadline = columns[3];
+            this.period = columns[4];
+        }
+
+        String header() {
+            return header;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int contextSwitch() {
+            return contextSwitch;
+        }
+
+        IntBuffer arrival() {
+            return arrival.duplicate();
+        }
+
+        IntBuffer burst() {
+            return burst.duplicate();
+        }
+
+        IntBuffer priority() {
+            return priority.duplicate();
+        }
+
+        /** Null if the file has no deadline column. */
+        IntBuffer deadline() {
+            return deadline == null ? null : deadline.duplicate();
+        }
+
+        /** Null if the file has no period column. */
+        IntBuffer period() {
+            return period == null ? null : period.duplicate();
+        }
+
+        /** Workload whose columns are these mapped views: nothing is copied onto the heap. */
+        Workload asWorkload() {
+            return Workload.view(arrival, burst, priority, deadline, period, contextSwitch);
+        }
+
+        /** Copies the columns onto the heap, with the same validation as the text reader. */
+        Workload toWorkload() {
+            return Workload.wrap(toArray(arrival), toArray(burst), toArray(priority), toArray(deadline),
+                    toArray(period), contextSwitch);
+        }
+
+        private static int[] toArray(IntBuffer column) {
+            if (column == null) return null;
+            int[] a = new int[column.remaining()];
+            column.duplicate().get(a);
+            return a;
+        }
+    }
+
+    /** True if the file starts with the binary workload magic. */
+    static boolean isWorkload(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer b = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            while (b.hasRemaining() && ch.read(b) != -1) {
+                // keep reading until the magic is complete or the file ends
+            }
+            return !b.hasRemaining() && b.getInt(0) == WORKLOAD_MAGIC;
+        }
+    }
+
+    // ---------- workloads ----------
+
+    /** Throws IllegalArgumentException if {@code n} processes do not fit a workload file. */
+    static void checkCount(long n) {
+        if (n > MAX_PROCESSES) {
+            throw new IllegalArgumentException("a binary workload holds at most " + MAX_PROCESSES
+                    + " processes (2 GiB per column): " + n);
+        }
+    }
+
+    static void writeWorkload(Workload w, String header, Path path) throws IOException {
+        byte[] text = (header == null ? "" : header).getBytes(StandardCharsets.UTF_8);
+        int n = w.size();
+        checkCount(n);
+        int mask = ARRIVAL | BURST | PRIORITY;
+        if (w.hasDeadlines()) mask |= DEADLINE;
+        if (w.hasPeriods()) mask |= PERIOD;
+        try (Out out = new Out(path)) {
+            out.putInt(WORKLOAD_MAGIC);
+            out.putInt(VERSION);
+            out.putInt(mask);
+            out.putInt(n);
+            out.putInt(w.contextSwitch());
+            out.putInt(text.length);
+            out.putInt(0);
+            out.putInt(0);
+            out.putBytes(text);
+            out.putColumn(w.arrivalColumn(), n);
+            out.putColumn(w.burstColumn(), n);
+            out.putColumn(w.priorityColumn(), n);
+            if (w.hasDeadlines()) out.putColumn(w.deadlineColumn(), n);
+            if (w.hasPeriods()) out.putColumn(w.periodColumn(), n);
+        }
+    }
+
+    /**
+     * Writes a workload of n processes without holding it in memory: each column is
+     * pulled from its source, in process order, while it is written.
+     */
+    static void writeWorkload(String header, int n, int contextSwitch, IntSupplier arrival, IntSupplier burst,
+                              IntSupplier priority, Path path) throws IOException {
+        checkCount(n);
+        byte[] text = (header == null ? "" : header).getBytes(StandardCharsets.UTF_8);
+        try (Out out = new Out(path)) {
+            out.putInt(WORKLOAD_MAGIC);
+            out.putInt(VERSION);
+            out.putInt(ARRIVAL | BURST | PRIORITY);
+            out.putInt(n);
+            out.putInt(contextSwitch);
+            out.putInt(text.length);
+            out.putInt(0);
+            out.putInt(0);
+            out.putBytes(text);
+            for (IntSupplier column : new IntSupplier[] {arrival, burst, priority}) {
+                for (int i = 0; i < n; i++) out.putInt(column.getAsInt());
+                out.align();
+            }
+        }
+    }
+
+    static Mapped map(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer head = readHeader(ch, path, WORKLOAD_MAGIC);
+            int mask = head.getInt(8);
+            int n = head.getInt(12);
+            int contextSwitch = head.getInt(16);
+            int textLength = head.getInt(20);
+            if ((mask & (ARRIVAL | BURST | PRIORITY)) != (ARRIVAL | BURST | PRIORITY)) {
+                throw new IOException("workload file lacks a required column: " + path);
+            }
+            if (n < 0 || textLength < 0) {
+                throw new IOException("corrupt workload header in " + path);
+            }
+
+            long offset = HEADER_SIZE;
+            String header = new String(bytes(ch, offset, textLength, path), StandardCharsets.UTF_8);
+            offset = align(offset + textLength);
+            IntBuffer[] columns = new IntBuffer[5];    // by mask bit; absent optional columns stay null
+            for (int bit = 0; bit < 32; bit++) {
+                if ((mask & (1 << bit)) == 0) continue;
+                if (bit < columns.length) columns[bit] = column(ch, offset, n, path);
+                offset = align(offset + 4L * n);   // skip columns from later versions
+            }
+            return new Mapped(header, n, contextSwitch, columns);
+        }
+    }
+
+    /** Maps a binary workload and copies it onto the heap. */
+    static Workload readWorkload(Path path) throws IOException {
+        return map(path).toWorkload();
+    }
+
+    // ---------- results ----------
+
+    static void writeResult(ScheduleResult r, Path path) throws IOException {
+        byte[] name = r.algorithm().getBytes(StandardCharsets.UTF_8);
+        int n = r.workload().size();
+        int s = r.segmentCount();
+        try (Out out = new Out(path)) {
+            out.putInt(RESULT_MAGIC);
+            out.putInt(VERSION);
+            out.putInt(n);
+            out.putInt(s);
+            out.putInt(r.contextSwitches());
+            out.putInt(name.length);
+            out.putInt(r.decisions());
+            out.putInt(0);
+            out.putBytes(name);
+            for (int i = 0; i < n; i++) out.putInt(r.finish(i));
+            out.align();
+            for (int k = 0; k < s; k++) out.putInt(r.segmentProcess(k));
+            out.align();
+            for (int k = 0; k < s; k++) out.putInt(r.segmentStart(k));
+            out.align();
+            for (int k = 0; k < s; k++) out.putInt(r.segmentEnd(k));
+            out.align();
+        }
+    }
+
+    /** Reads a result written for {@code w}; throws IOException if the process counts differ. */
+    static ScheduleResult readResult(Path path, Workload w) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer head = readHeader(ch, path, RESULT_MAGIC);
+            int n = head.getInt(8);
+            int s = head.getInt(12);
+            int contextSwitches = head.getInt(16);
+            int nameLength = head.getInt(20);
+            int decisions = head.getInt(24);
+            if (n != w.size()) {
+                throw new IOException("result in " + path + " has " + n + " processes, workload has " + w.size());
+            }
+            if (s < 0 || nameLength < 0) {
+                throw new IOException("corrupt result header in " + path);
+            }
+
+            long offset = HEADER_SIZE;
+            String name = new String(bytes(ch, offset, nameLength, path), StandardCharsets.UTF_8);
+            offset = align(offset + nameLength);
+            int[] finish = new int[n];
+            column(ch, offset, n, path).get(finish);
+            offset = align(offset + 4L * n);
+            IntBuffer process = column(ch, offset, s, path);
+            offset = align(offset + 4L * s);
+            IntBuffer start = column(ch, offset, s, path);
+            offset = align(offset + 4L * s);
+            IntBuffer end = column(ch, offset, s, path);
+
+            // the run's segment summary is rebuilt along with the timeline, as the recorder kept it
+            Timeline timeline = Timeline.forSegments(s);
+            int[] firstRun = new int[n];
+            Arrays.fill(firstRun, -1);
+            int preemptions = 0;
+            long idle = 0;
+            long switching = 0;
+            for (int k = 0; k < s; k++) {
+                int p = process.get(k);
+                int from = start.get(k);
+                int to = end.get(k);
+                timeline.add(p, from, to);
+                if (p == ScheduleRecorder.IDLE) {
+                    idle += to - from;
+                } else if (p == ScheduleRecorder.SWITCH) {
+                    switching += to - from;
+                } else if (p >= 0 && p < n) {
+                    if (firstRun[p] < 0) firstRun[p] = from;
+                    if (to < finish[p]) preemptions++;
+                } else {
+                    throw new IOException("corrupt segment in " + path + ": process index " + p);
+                }
+            }
+            return new ScheduleResult(name, w, finish, firstRun, contextSwitches, timeline, decisions,
+                    preemptions, idle, switching, 0, 0);
+        }
+    }
+
+    // ---------- helpers ----------
+
+    private static ByteBuffer readHeader(FileChannel ch, Path path, int magic) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (head.hasRemaining() && ch.read(head) != -1) {
+            // fill the fixed-size header
+        }
+        if (head.hasRemaining() || head.getInt(0) != magic) {
+            throw new IOException("not a " + (magic == WORKLOAD_MAGIC ? "workload" : "result") + " file: " + path);
+        }
+        int version = head.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("unsupported format version " + version + " in " + path);
+        }
+        return head;
+    }
+
+    private static byte[] bytes(FileChannel ch, long offset, int length, Path path) throws IOException {
+        byte[] b = new byte[length];
+        if (length > 0) map(ch, offset, length, path).get(b);
+        return b;
+    }
+
+    private static IntBuffer column(FileChannel ch, long offset, int count, Path path) throws IOException {
+        if (count == 0) return IntBuffer.allocate(0).asReadOnlyBuffer();
+        return map(ch, offset, 4L * count, path).asIntBuffer();
+    }
+
+    private static ByteBuffer map(FileChannel ch, long offset, long length, Path path) throws IOException {
+        if (offset + length > ch.size()) {
+            throw new IOException("truncated file: " + path);
+        }
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("column too large to map: " + length + " bytes in " + path);
+        }
+        // the mapping stays valid after the channel is closed
+        MappedByteBuffer m = ch.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        m.order(ByteOrder.LITTLE_ENDIAN);
+        return m;
+    }
+
+    private static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+
+    /** Buffered little-endian writer that tracks the file offset for alignment. */
+    private static final class Out implements AutoCloseable {
+        private final FileChannel ch;
+        private final ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private long written;
+
+        Out(Path path) throws IOException {
+            ch = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        void putInt(int v) throws IOException {
+            if (buf.remaining() < 4) flush();
+            buf.putInt(v);
+            written += 4;
+        }
+
+        void putBytes(byte[] b) throws IOException {
+            for (byte x : b) {
+                if (!buf.hasRemaining()) flush();
+                buf.put(x);
+            }
+            written += b.length;
+            align();
+        }
+
+        void putColumn(IntBuffer column, int n) throws IOException {
+            IntBuffer source = column.duplicate();
+            int i = 0;
+            while (i < n) {
+                if (buf.remaining() < 4) flush();
+                int chunk = Math.min(n - i, buf.remaining() >> 2);
+                source.limit(i + chunk).position(i);
+                buf.asIntBuffer().put(source);
+                buf.position(buf.position() + (chunk << 2));
+                i += chunk;
+            }
+            written += 4L * n;
+            align();
+        }
+
+        void align() throws IOException {
+            while ((written & 7) != 0) {
+                if (!buf.hasRemaining()) flush();
+                buf.put((byte) 0);
+                written++;
+            }
+        }
+
+        private void flush() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) ch.write(buf);
+            buf.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                ch.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,459 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.function.IntSupplier;
+
+/**
+ * Seeded synthetic workloads of any size, streamed straight to the text format of
+ * {@link WorkloadReader} or the binary format of {@link WorkloadFile}.
+ *
+ * <pre>
+ * java WorkloadGenerator --count 10000000 --output trace.bin [--format text|binary] [--seed 42]
+ *     [--arrivals poisson:RATE | mmpp:RATE1,RATE2,DWELL1,DWELL2 | diurnal:RATE,AMPLITUDE,CYCLE]
+ *     [--bursts exp:MEAN | pareto:ALPHA,MIN[,CAP] | bimodal:SHORT,LONG,P_LONG]
+ *     [--priorities VALUE:WEIGHT,...] [--context-switch 0]
+ * </pre>
+ * <ul>
+ *   <li>poisson: exponential gaps, RATE arrivals per time unit;</li>
+ *   <li>mmpp: two-state Markov-modulated Poisson process, arriving at RATE1 or RATE2 and
+ *       staying in each state for an exponential time with mean DWELL1 or DWELL2;</li>
+ *   <li>diurnal: Poisson with rate RATE * (1 + AMPLITUDE * sin(2 pi t / CYCLE)), AMPLITUDE
+ *       in [0, 1], drawn by thinning;</li>
+ *   <li>exp: exponential bursts with the given mean; pareto: heavy-tailed with shape ALPHA
+ *       and scale MIN, capped at CAP (default 1000000); bimodal: a burst near SHORT or,
+ *       with probability P_LONG, near LONG (uniform within half the mode either side);</li>
+ *   <li>priorities: each process gets VALUE with probability proportional to WEIGHT.</li>
+ * </ul>
+ * Bursts are at least 1. The arrival, burst and priority columns come from independent
+ * random streams split off the seed, so a column can be produced on its own: binary
+ * files are written one column after the other and text files record by record, from
+ * the same streams, so both formats hold the same workload and memory use does not grow
+ * with the count. The default extension-based format is binary for ".bin". Text files
+ * take up to 2^31-1 processes, binary ones up to {@link WorkloadFile#MAX_PROCESSES}.
+ */
+public final class WorkloadGenerator {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int DEFAULT_PARETO_CAP = 1_000_000;
+
+    private enum Arrivals { POISSON, MMPP, DIURNAL }
+
+    private enum Bursts { EXP, PARETO, BIMODAL }
+
+    private final String arrivalSpec;
+    private final String burstSpec;
+    private final String prioritySpec;
+    private final long seed;
+
+    private final Arrivals arrivals;
+    private final double[] arrivalParams;
+    private final Bursts bursts;
+    private final double[] burstParams;
+    private final int[] priorityValues;
+    private final double[] priorityCumulative;   // cumulative weights, last one is the total
+
+    /**
+     * @throws IllegalArgumentException if a specification is malformed or out of range
+     */
+    public WorkloadGenerator(String arrivals, String bursts, String priorities, long seed) {
+        this.arrivalSpec = arrivals;
+        this.burstSpec = bursts;
+        this.prioritySpec = priorities;
+        this.seed = seed;
+
+        String kind = kind(arrivals);
+        switch (kind) {
+            case "poisson":
+                this.arrivals = Arrivals.POISSON;
+                arrivalParams = params(arrivals, 1, 1);
+                positive(arrivals, arrivalParams[0]);
+                break;
+            case "mmpp":
+                this.arrivals = Arrivals.MMPP;
+                arrivalParams = params(arrivals, 4, 4);
+                for (double p : arrivalParams) positive(arrivals, p);
+                break;
+            case "diurnal":
+                this.arrivals = Arrivals.DIURNAL;
+                arrivalParams = params(arrivals, 3, 3);
+                positive(arrivals, arrivalParams[0]);
+                positive(arrivals, arrivalParams[2]);
+                if (arrivalParams[1] < 0 || arrivalParams[1] > 1) {
+                    throw new IllegalArgumentException("diurnal amplitude must be in [0, 1]: " + arrivals);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("unknown arrival process " + arrivals
+                        + "; expected poisson, mmpp or diurnal");
+        }
+
+        kind = kind(bursts);
+        switch (kind) {
+            case "exp":
+                this.bursts = Bursts.EXP;
+                burstParams = params(bursts, 1, 1);
+                positive(bursts, burstParams[0]);
+                break;
+            case "pareto":
+                this.bursts = Bursts.PARETO;
+                double[] p = params(bursts, 2, 3);
+                burstParams = p.length == 3 ? p : new double[] {p[0], p[1], DEFAULT_PARETO_CAP};
+                for (double v : burstParams) positive(bursts, v);
+                break;
+            case "bimodal":
+                this.bursts = Bursts.BIMODAL;
+                burstParams = params(bursts, 3, 3);
+                positive(bursts, burstParams[0]);
+                positive(bursts, burstParams[1]);
+                if (burstParams[2] < 0 || burstParams[2] > 1) {
+                    throw new IllegalArgumentException("bimodal long-burst probability must be in [0, 1]: " + bursts);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("unknown burst distribution " + bursts
+                        + "; expected exp, pareto or bimodal");
+        }
+
+        String[] entries = priorities.split(",");
+        priorityValues = new int[entries.length];
+        priorityCumulative = new double[entries.length];
+        double total = 0;
+        for (int k = 0; k < entries.length; k++) {
+            String[] vw = entries[k].split(":");
+            if (vw.length != 2) {
+                throw new IllegalArgumentException("priority mix entries must be VALUE:WEIGHT: " + entries[k]);
+            }
+            priorityValues[k] = Integer.parseInt(vw[0].trim());
+            double weight = Double.parseDouble(vw[1].trim());
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("priority weight must be non-negative: " + entries[k]);
+            }
+            total += weight;
+            priorityCumulative[k] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("priority weights must not all be zero: " + priorities);
+        }
+    }
+
+    private static String kind(String spec) {
+        int colon = spec.indexOf(':');
+        return (colon < 0 ? spec : spec.substring(0, colon)).trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static double[] params(String spec, int min, int max) {
+        int colon = spec.indexOf(':');
+        String[] parts = colon < 0 ? new String[0] : spec.substring(colon + 1).split(",");
+        if (parts.length < min || parts.length > max) {
+            throw new IllegalArgumentException("wrong number of parameters in " + spec);
+        }
+        double[] p = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) p[i] = Double.parseDouble(parts[i].trim());
+        return p;
+    }
+
+    private static void positive(String spec, double v) {
+        if (!(v > 0) || Double.isInfinite(v)) {
+            throw new IllegalArgumentException("parameters must be positive: " + spec);
+        }
+    }
+
+    /** Long-run arrivals per time unit. */
+    public double meanArrivalRate() {
+        switch (arrivals) {
+            case MMPP:
+                double[] p = arrivalParams;
+                return (p[0] * p[2] + p[1] * p[3]) / (p[2] + p[3]);
+            default:
+                return arrivalParams[0];   // the sine of the diurnal rate averages out
+        }
+    }
+
+    /** First line of generated files: the column names and everything needed to regenerate them. */
+    public String header() {
+        return "ArrivalTime BurstTime Priority   generated: seed=" + seed + " arrivals=" + arrivalSpec
+                + " bursts=" + burstSpec + " priorities=" + prioritySpec;
+    }
+
+    // the last arrival of n processes is expected near n / rate, which has to stay an int
+    private void checkRange(long n) {
+        if (n < 0 || n > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("process count must be between 0 and " + Integer.MAX_VALUE + ": " + n);
+        }
+        if (n / meanArrivalRate() > 0.9 * Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format(
+                    "%d arrivals at %.4g per time unit run past the int time range; raise the arrival rate",
+                    n, meanArrivalRate()));
+        }
+    }
+
+    // ---------- streams ----------
+
+    // independent streams for the three columns, the same for every call with this seed
+    private SplittableRandom[] streams() {
+        SplittableRandom root = new SplittableRandom(seed);
+        return new SplittableRandom[] {root.split(), root.split(), root.split()};
+    }
+
+    private static double exponential(SplittableRandom rnd, double mean) {
+        return -Math.log(1.0 - rnd.nextDouble()) * mean;
+    }
+
+    /** Arrival times in non-decreasing order. */
+    private IntSupplier arrivalStream(SplittableRandom rnd) {
+        double[] p = arrivalParams;
+        switch (arrivals) {
+            case POISSON:
+                return new IntSupplier() {
+                    private double clock;
+
+                    @Override
+                    public int getAsInt() {
+                        clock += exponential(rnd, 1.0 / p[0]);
+                        return time(clock);
+                    }
+                };
+            case MMPP:
+                return new IntSupplier() {
+                    private double clock;
+                    private int state;
+                    private double switchAt = exponential(rnd, p[2]);
+
+                    @Override
+                    public int getAsInt() {
+                        // gaps are memoryless, so a gap cut short by a state change is redrawn at the new rate
+                        double next = clock + exponential(rnd, 1.0 / p[state]);
+                        while (next > switchAt) {
+                            clock = switchAt;
+                            state ^= 1;
+                            switchAt = clock + exponential(rnd, p[2 + state]);
+                            next = clock + exponential(rnd, 1.0 / p[state]);
+                        }
+                        clock = next;
+                        return time(clock);
+                    }
+                };
+            default:
+                return new IntSupplier() {
+                    private double clock;
+
+                    @Override
+                    public int getAsInt() {
+                        // thinning: candidates at the peak rate, kept with probability rate(t) / peak
+                        double peak = p[0] * (1.0 + p[1]);
+                        do {
+                            clock += exponential(rnd, 1.0 / peak);
+                        } while (rnd.nextDouble() * peak > p[0] * (1.0 + p[1] * Math.sin(2 * Math.PI * clock / p[2])));
+                        return time(clock);
+                    }
+                };
+        }
+    }
+
+    private static int time(double clock) {
+        if (clock >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("arrival times ran past the int time range; raise the arrival rate");
+        }
+        return (int) clock;
+    }
+
+    private IntSupplier burstStream(SplittableRandom rnd) {
+        double[] p = burstParams;
+        switch (bursts) {
+            case EXP:
+                return () -> burst(Math.ceil(exponential(rnd, p[0])));
+            case PARETO:
+                return () -> burst(Math.min(p[2], Math.ceil(p[1] / Math.pow(1.0 - rnd.nextDouble(), 1.0 / p[0]))));
+            default:
+                return () -> {
+                    double mode = rnd.nextDouble() < p[2] ? p[1] : p[0];
+                    return burst(Math.round(mode * (0.5 + rnd.nextDouble())));
+                };
+        }
+    }
+
+    private static int burst(double v) {
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, v));
+    }
+
+    private IntSupplier priorityStream(SplittableRandom rnd) {
+        double total = priorityCumulative[priorityCumulative.length - 1];
+        return () -> {
+            double u = rnd.nextDouble() * total;
+            int k = 0;
+            while (k < priorityValues.length - 1 && priorityCumulative[k] <= u) k++;
+            return priorityValues[k];
+        };
+    }
+
+    // ---------- output ----------
+
+    /** The first n processes in memory; the same ones the file writers produce for this seed. */
+    public Workload generate(int n, int contextSwitch) {
+        checkRange(n);
+        SplittableRandom[] s = streams();
+        IntSupplier[] columns = {arrivalStream(s[0]), burstStream(s[1]), priorityStream(s[2])};
+        int[][] values = new int[3][n];
+        for (int c = 0; c < 3; c++) {
+            for (int i = 0; i < n; i++) values[c][i] = columns[c].getAsInt();
+        }
+        return Workload.wrap(values[0], values[1], values[2], contextSwitch);
+    }
+
+    public void writeBinary(long n, int contextSwitch, Path path) throws IOException {
+        checkRange(n);
+        WorkloadFile.checkCount(n);
+        SplittableRandom[] s = streams();
+        WorkloadFile.writeWorkload(header(), (int) n, contextSwitch,
+                arrivalStream(s[0]), burstStream(s[1]), priorityStream(s[2]), path);
+    }
+
+    public void writeText(long n, int contextSwitch, Path path) throws IOException {
+        checkRange(n);
+        SplittableRandom[] s = streams();
+        IntSupplier at = arrivalStream(s[0]);
+        IntSupplier bt = burstStream(s[1]);
+        IntSupplier pr = priorityStream(s[2]);
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            buf.put((header() + "\n\n").getBytes(StandardCharsets.UTF_8));
+            for (long i = 0; i < n; i++) {
+                // a record is at most three 11-character ints and four separators
+                if (buf.remaining() < 40) flush(ch, buf);
+                putInt(buf, at.getAsInt());
+                buf.put((byte) ' ').put((byte) ' ');
+                putInt(buf, bt.getAsInt());
+                buf.put((byte) ' ').put((byte) ' ');
+                putInt(buf, pr.getAsInt());
+                buf.put((byte) '\n');
+            }
+            flush(ch, buf);
+            buf.put(("context switching\n" + contextSwitch + "\n").getBytes(StandardCharsets.UTF_8));
+            flush(ch, buf);
+        }
+    }
+
+    // decimal digits without creating a String
+    private static void putInt(ByteBuffer buf, int v) {
+        long x = v;
+        if (x < 0) {
+            buf.put((byte) '-');
+            x = -x;
+        }
+        long div = 1;
+        while (div * 10 <= x) div *= 10;
+        for (; div > 0; div /= 10) buf.put((byte) ('0' + x / div % 10));
+    }
+
+    private static void flush(FileChannel ch, ByteBuffer buf) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) ch.write(buf);
+        buf.clear();
+    }
+
+    // ---------- command line ----------
+
+    public static void main(String[] args) {
+        long count = -1;
+        String output = null;
+        String format = null;
+        long seed = 42;
+        String arrivals = "poisson:0.1";
+        String bursts = "exp:8";
+        String priorities = "1:1,2:1,3:1,4:1,5:1";
+        int contextSwitch = 0;
+
+        for (int a = 0; a < args.length; a++) {
+            String flag = args[a];
+            if (a + 1 >= args.length) {
+                System.err.println("Missing value for " + flag);
+                return;
+            }
+            String value = args[++a];
+            try {
+                switch (flag) {
+                    case "--count":
+                        count = Long.parseLong(value);
+                        break;
+                    case "--output":
+                        output = value;
+                        break;
+                    case "--format":
+                        if (!value.equals("text") && !value.equals("binary")) {
+                            System.err.println("Unknown format " + value + "; expected text or binary");
+                            return;
+                        }
+                        format = value;
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    case "--arrivals":
+                        arrivals = value;
+                        break;
+                    case "--bursts":
+                        bursts = value;
+                        break;
+                    case "--priorities":
+                        priorities = value;
+                        break;
+                    case "--context-switch":
+                        contextSwitch = Integer.parseInt(value);
+                        break;
+                    default:
+                        System.err.println("Unknown option " + flag);
+                        return;
+                }
+            } catch (NumberFormatException e) {
+                System.err.println("Invalid value for " + flag + ": " + value);
+                return;
+            }
+        }
+        if (count < 0 || output == null) {
+            System.err.println("usage: java WorkloadGenerator --count N --output FILE [--format text|binary] [--seed N]"
+                    + " [--arrivals poisson:RATE|mmpp:RATE1,RATE2,DWELL1,DWELL2|diurnal:RATE,AMPLITUDE,CYCLE]"
+                    + " [--bursts exp:MEAN|pareto:ALPHA,MIN[,CAP]|bimodal:SHORT,LONG,P_LONG]"
+                    + " [--priorities VALUE:WEIGHT,...] [--context-switch N]");
+            return;
+        }
+        if (format == null) format = output.endsWith(".bin") ? "binary" : "text";
+
+        WorkloadGenerator generator;
+        try {
+            generator = new WorkloadGenerator(arrivals, bursts, priorities, seed);
+            generator.checkRange(count);
+            if (format.equals("binary")) WorkloadFile.checkCount(count);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid generator settings: " + e.getMessage());
+            return;
+        }
+
+        Path path = Paths.get(output);
+        long start = System.nanoTime();
+        try {
+            if (format.equals("binary")) {
+                generator.writeBinary(count, contextSwitch, path);
+            } else {
+                generator.writeText(count, contextSwitch, path);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Generation failed: " + e.getMessage());
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException ignored) {
+                // nothing useful left to report
+            }
+            return;
+        }
+        System.out.printf("wrote %d processes as %s to %s in %.1f s%n", count, format, path,
+                (System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,151 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * Streaming parser for the text workload format of inputfile.txt:
+ * <ul>
+ *   <li>the first line is a free-text header;</li>
+ *   <li>every integer after it (an optional '-' followed by digits, anywhere in the text)
+ *       is data, read as (arrival, burst, priority) triples; if the header names a
+ *       "Deadline" and/or "Period" column (in any case), each record carries those
+ *       fields too, in that order after the priority;</li>
+ *   <li>the last integer of the file is the context switch cost.</li>
+ * </ul>
+ * Bytes are scanned straight from a {@link FileChannel} into growable int columns, so
+ * no String or Integer is created per number and memory stays close to 4 bytes per field.
+ */
+final class WorkloadReader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private String header;
+    private int recordWidth;
+    private boolean incompleteRecord;
+
+    /** First line of the last file read, without the line terminator. */
+    String header() {
+        return header;
+    }
+
+    /** Integers per process in the last file read: 3, 4 or 5 depending on the header. */
+    int recordWidth() {
+        return recordWidth;
+    }
+
+    /** True when the last file had leftover values that did not form a complete record. */
+    boolean droppedIncompleteRecord() {
+        return incompleteRecord;
+    }
+
+    /**
+     * Parses the file; throws IOException if it cannot be read, holds no integers after
+     * the header, or contains a number outside the int range.
+     */
+    Workload read(Path path) throws IOException {
+        header = null;
+        incompleteRecord = false;
+        IntList[] cols = new IntList[5];
+        for (int c = 0; c < cols.length; c++) cols[c] = new IntList(c < 3 ? 1024 : 0);
+        int[] field = {0, 1, 2};    // column of each field in a record, fixed once the header is read
+        int width = 3;
+        int total = 0;
+
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+            boolean inHeader = true;
+            boolean minus = false;   // '-' seen directly before the current position
+            boolean inNumber = false;
+            boolean negative = false;
+            long value = 0;
+
+            while (ch.read(buf) != -1) {
+                buf.flip();
+                while (buf.hasRemaining()) {
+                    byte b = buf.get();
+                    if (inHeader) {
+                        if (b == '\n') {
+                            inHeader = false;
+                            field = fields(headerBytes.toString(StandardCharsets.UTF_8));
+                            width = field.length;
+                        } else if (b != '\r') {
+                            headerBytes.write(b);
+                        }
+                        continue;
+                    }
+                    if (b >= '0' && b <= '9') {
+                        if (!inNumber) {
+                            inNumber = true;
+                            negative = minus;
+                            value = 0;
+                        }
+                        value = value * 10 + (b - '0');
+                        if (value > Integer.MAX_VALUE + 1L) {
+                            throw new IOException("number out of int range after value " + total + " in " + path);
+                        }
+                    } else {
+                        if (inNumber) {
+                            cols[field[total % width]].add(toInt(value, negative, path));
+                            total++;
+                            inNumber = false;
+                        }
+                        minus = b == '-';
+                    }
+                }
+                buf.clear();
+            }
+            if (inNumber) {
+                cols[field[total % width]].add(toInt(value, negative, path));
+                total++;
+            }
+            header = headerBytes.toString(StandardCharsets.UTF_8);
+            if (inHeader) {
+                field = fields(header);
+                width = field.length;
+            }
+        }
+        recordWidth = width;
+
+        if (total == 0) {
+            throw new IOException("No integer data found in " + path + " after header.");
+        }
+
+        // the last integer is the context switch value, everything before it is process data
+        int contextSwitch = cols[field[(total - 1) % width]].removeLast();
+        int procIntCount = total - 1;
+        if (procIntCount % width != 0) {
+            incompleteRecord = true;
+        }
+        int procCount = procIntCount / width;
+        for (IntList col : cols) col.truncate(procCount);
+        boolean deadlines = field.length > 3 && field[3] == 3;
+        boolean periods = field[field.length - 1] == 4;
+        return Workload.wrap(cols[0].toArray(), cols[1].toArray(), cols[2].toArray(),
+                deadlines ? cols[3].toArray() : null, periods ? cols[4].toArray() : null, contextSwitch);
+    }
+
+    // columns (0 arrival, 1 burst, 2 priority, 3 deadline, 4 period) of the fields of a record
+    private static int[] fields(String header) {
+        String h = header.toLowerCase(Locale.ROOT);
+        boolean deadline = h.contains("deadline");
+        boolean period = h.contains("period");
+        if (deadline && period) return new int[] {0, 1, 2, 3, 4};
+        if (deadline) return new int[] {0, 1, 2, 3};
+        if (period) return new int[] {0, 1, 2, 4};
+        return new int[] {0, 1, 2};
+    }
+
+    private static int toInt(long value, boolean negative, Path path) throws IOException {
+        long v = negative ? -value : value;
+        if (v > Integer.MAX_VALUE) {
+            throw new IOException("number out of int range: " + v + " in " + path);
+        }
+        return (int) v;
+    }
+}